@@ -0,0 +1,115 @@
+package com.banking.benchmarks;
+
+import com.banking.core.id.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserts merchant_events-shaped rows into a scratch table that keeps growing through the iteration.
+ * Runs on in-memory H2 by default; pass -p jdbcUrl=jdbc:postgresql://localhost:5433/bank_db?user=bank_user&password=bank_password
+ * to measure against the real database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventInsertBenchmark {
+    private static final int BATCH_SIZE = 500;
+    private static final String TABLE = "benchmark_merchant_events";
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private String idStrategy;
+
+    @Param({"jdbc:h2:mem:events;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"100000"})
+    private int preloadRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+    private final UUID merchantId = UUID.randomUUID();
+
+    @Setup
+    public void setUp() throws SQLException {
+        ids = "RANDOM".equals(idStrategy) ? UUID::randomUUID : TimeOrderedUuid::next;
+        connection = DriverManager.getConnection(jdbcUrl);
+        connection.setAutoCommit(false);
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+            ddl.execute("CREATE TABLE " + TABLE + " ("
+                    + "id UUID PRIMARY KEY, "
+                    + "merchant_id UUID NOT NULL, "
+                    + "balance_change NUMERIC(19, 2) NOT NULL, "
+                    + "new_balance NUMERIC(19, 2) NOT NULL, "
+                    + "event_type VARCHAR(50) NOT NULL, "
+                    + "description VARCHAR(255), "
+                    + "event_date_time TIMESTAMP NOT NULL)");
+            ddl.execute("CREATE INDEX idx_" + TABLE + "_merchant ON " + TABLE + " (merchant_id, event_date_time, id)");
+        }
+        connection.commit();
+
+        insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (id, merchant_id, balance_change, new_balance, event_type, description, event_date_time)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTable() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("TRUNCATE TABLE " + TABLE);
+        }
+        connection.commit();
+
+        for (int loaded = 0; loaded < preloadRows; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertEvents() throws SQLException {
+        return insertBatch();
+    }
+
+    private int[] insertBatch() throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.get());
+            insert.setObject(2, merchantId);
+            insert.setBigDecimal(3, BigDecimal.TEN);
+            insert.setBigDecimal(4, BigDecimal.TEN);
+            insert.setString(5, "PAYMENT_RECEIVED");
+            insert.setString(6, "Payment received from customer");
+            insert.setTimestamp(7, now);
+            insert.addBatch();
+        }
+        int[] inserted = insert.executeBatch();
+        connection.commit();
+        return inserted;
+    }
+}
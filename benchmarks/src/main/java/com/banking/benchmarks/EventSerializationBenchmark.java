@@ -0,0 +1,116 @@
+package com.banking.benchmarks;
+
+import com.banking.core.codec.PaymentEventDeserializer;
+import com.banking.core.codec.PaymentEventSerializer;
+import com.banking.core.enums.PaymentStatus;
+import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.core.event.PaymentProcessedEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<PaymentCreatedEvent> createdDeserializer;
+    private JsonDeserializer<PaymentProcessedEvent> processedDeserializer;
+    private PaymentEventSerializer binarySerializer;
+    private PaymentEventDeserializer binaryDeserializer;
+
+    private PaymentCreatedEvent createdEvent;
+    private PaymentProcessedEvent processedEvent;
+    private byte[] createdPayload;
+    private byte[] processedPayload;
+    private byte[] createdBinaryPayload;
+    private byte[] processedBinaryPayload;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        createdDeserializer = new JsonDeserializer<>(PaymentCreatedEvent.class, false);
+        processedDeserializer = new JsonDeserializer<>(PaymentProcessedEvent.class, false);
+        binarySerializer = new PaymentEventSerializer();
+        binaryDeserializer = new PaymentEventDeserializer();
+
+        createdEvent = PaymentCreatedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventDateTime(LocalDateTime.now())
+                .paymentId(UUID.randomUUID())
+                .payerId(UUID.randomUUID())
+                .payerEmail("payer@bank.com")
+                .payeeId(UUID.randomUUID())
+                .amount(new BigDecimal("149.90"))
+                .currency("BRL")
+                .status(PaymentStatus.PENDING)
+                .build();
+
+        processedEvent = PaymentProcessedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventDateTime(LocalDateTime.now())
+                .paymentId(createdEvent.getPaymentId())
+                .payerId(createdEvent.getPayerId())
+                .payeeId(createdEvent.getPayeeId())
+                .amount(createdEvent.getAmount())
+                .currency("BRL")
+                .status("APPROVED")
+                .payerEmail("payer@bank.com")
+                .description("Payment approved")
+                .build();
+
+        createdPayload = serializer.serialize("payment-created", createdEvent);
+        processedPayload = serializer.serialize("payment-processed", processedEvent);
+        createdBinaryPayload = binarySerializer.serialize("payment-created", createdEvent);
+        processedBinaryPayload = binarySerializer.serialize("payment-processed", processedEvent);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentCreated() {
+        return serializer.serialize("payment-created", createdEvent);
+    }
+
+    @Benchmark
+    public PaymentCreatedEvent deserializePaymentCreated() {
+        return createdDeserializer.deserialize("payment-created", createdPayload);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentProcessed() {
+        return serializer.serialize("payment-processed", processedEvent);
+    }
+
+    @Benchmark
+    public PaymentProcessedEvent deserializePaymentProcessed() {
+        return processedDeserializer.deserialize("payment-processed", processedPayload);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentCreatedBinary() {
+        return binarySerializer.serialize("payment-created", createdEvent);
+    }
+
+    @Benchmark
+    public Object deserializePaymentCreatedBinary() {
+        return binaryDeserializer.deserialize("payment-created", createdBinaryPayload);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentProcessedBinary() {
+        return binarySerializer.serialize("payment-processed", processedEvent);
+    }
+
+    @Benchmark
+    public Object deserializePaymentProcessedBinary() {
+        return binaryDeserializer.deserialize("payment-processed", processedBinaryPayload);
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.benchmarks;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.merchantservice.mapper.MerchantMapper;
+import com.banking.merchantservice.model.Merchant;
+import com.banking.merchantservice.model.MerchantEntity;
+import com.banking.payment.mapper.PaymentMapper;
+import com.banking.payment.model.Payment;
+import com.banking.payment.model.PaymentEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Payment payment;
+    private PaymentEntity paymentEntity;
+    private Merchant merchant;
+    private MerchantEntity merchantEntity;
+
+    @Setup
+    public void setUp() {
+        payment = new Payment(
+                UUID.randomUUID(), UUID.randomUUID(), "payer@bank.com", UUID.randomUUID(),
+                new BigDecimal("149.90"), "BRL", PaymentStatus.PENDING
+        );
+        paymentEntity = PaymentMapper.toEntity(payment);
+
+        merchant = new Merchant(
+                UUID.randomUUID(), "Loja Central", "loja@bank.com", "+5511999999999", new BigDecimal("1000.00"), "BRL"
+        );
+        merchantEntity = MerchantMapper.toEntity(merchant);
+    }
+
+    @Benchmark
+    public PaymentEntity paymentToEntity() {
+        return PaymentMapper.toEntity(payment);
+    }
+
+    @Benchmark
+    public Payment paymentToDomain() {
+        return PaymentMapper.toDomain(paymentEntity);
+    }
+
+    @Benchmark
+    public MerchantEntity merchantToEntity() {
+        return MerchantMapper.toEntity(merchant);
+    }
+
+    @Benchmark
+    public Merchant merchantToDomain() {
+        return MerchantMapper.toDomain(merchantEntity);
+    }
+}
@@ -0,0 +1,47 @@
+package com.banking.benchmarks;
+
+import com.banking.merchantservice.model.Merchant;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MerchantBalanceBenchmark {
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000000000.00");
+
+    @Param({"149.90", "0.01", "98765.43"})
+    private String amount;
+
+    private BigDecimal paymentAmount;
+    private Merchant merchant;
+
+    @Setup
+    public void setUp() {
+        paymentAmount = new BigDecimal(amount);
+        merchant = new Merchant(UUID.randomUUID(), "Loja Central", "loja@bank.com", "+5511999999999", OPENING_BALANCE, "BRL");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalance() {
+        merchant.setBalance(OPENING_BALANCE);
+    }
+
+    @Benchmark
+    public BigDecimal receivePayment() {
+        merchant.receivePayment(paymentAmount);
+        return merchant.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal debitPayment() {
+        merchant.debitPayment(paymentAmount);
+        return merchant.getBalance();
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.benchmarks;
+
+import com.banking.core.event.PaymentProcessedEvent;
+import com.banking.notificationservice.template.NotificationTemplate;
+import com.banking.notificationservice.template.NotificationTemplates;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationTemplateBenchmark {
+
+    @Param({"PENDING", "APPROVED"})
+    public String status;
+
+    private PaymentProcessedEvent event;
+    private NotificationTemplates templates;
+
+    @Setup
+    public void setUp() {
+        event = PaymentProcessedEvent.builder()
+                .paymentId(UUID.randomUUID())
+                .payerId(UUID.randomUUID())
+                .payeeId(UUID.randomUUID())
+                .payerEmail("payer@bank.com")
+                .amount(new BigDecimal("149.90"))
+                .currency("BRL")
+                .status(status)
+                .description("Payment processed successfully")
+                .build();
+        templates = new NotificationTemplates(Locale.ENGLISH, List.of(Locale.ENGLISH));
+    }
+
+    // what NotificationService did before the templates
+    @Benchmark
+    public void stringFormat(Blackhole bh) {
+        bh.consume("Payment update: " + event.getStatus());
+        bh.consume(String.format(
+                "Hi %s, \n\nYour payment ID %s has been processed. \nStatus: %s\nReason: %s",
+                event.getPayerEmail(),
+                event.getPaymentId(),
+                event.getStatus(),
+                event.getDescription()
+        ));
+    }
+
+    @Benchmark
+    public void precompiled(Blackhole bh) {
+        NotificationTemplate template = templates.forStatus(event.getStatus());
+        bh.consume(template.renderSubject(event));
+        bh.consume(template.renderBody(event));
+    }
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        final StringBuilder out = new StringBuilder(256);
+    }
+
+    @Benchmark
+    public void precompiledReusedBuffer(Buffer buffer, Blackhole bh) {
+        NotificationTemplate template = templates.forStatus(event.getStatus());
+        StringBuilder out = buffer.out;
+
+        out.setLength(0);
+        template.subject().renderTo(out, event);
+        bh.consume(out.length());
+
+        out.setLength(0);
+        template.body().renderTo(out, event);
+        bh.consume(out.length());
+    }
+}
@@ -0,0 +1,186 @@
+package com.banking.benchmarks;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.payment.client.MerchantClient;
+import com.banking.payment.model.PaymentEntity;
+import com.banking.payment.model.SagaStep;
+import com.banking.payment.repository.PaymentEventRepository;
+import com.banking.payment.repository.PaymentRepository;
+import com.banking.payment.service.PaymentEventStore;
+import com.banking.payment.service.PaymentSaga;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentSagaBenchmark {
+
+    /**
+     * STUB answers the merchant calls in memory. HTTP_CLIENT and REST_TEMPLATE call a merchant stub on loopback,
+     * through the pooled HttpClient the service uses and through the default RestTemplate it used before.
+     */
+    @Param({"STUB", "HTTP_CLIENT", "REST_TEMPLATE"})
+    private String merchantClient;
+
+    private HttpServer merchantService;
+    private PaymentSaga paymentSaga;
+    private PaymentEntity payment;
+    private UUID paymentId;
+
+    @Setup
+    public void setUp() throws IOException {
+        paymentId = UUID.randomUUID();
+        payment = PaymentEntity.builder()
+                .id(paymentId)
+                .payerId(UUID.randomUUID())
+                .payeeId(UUID.randomUUID())
+                .amount(new BigDecimal("149.90"))
+                .currency("BRL")
+                .status(PaymentStatus.PENDING)
+                .build();
+
+        PaymentRepository paymentRepository = Stubs.repository(PaymentRepository.class, payment);
+        PaymentEventStore paymentEventStore = new PaymentEventStore(
+                Stubs.repository(PaymentEventRepository.class), Stubs.paymentEventJournal(), event -> { }
+        );
+
+        paymentSaga = new PaymentSaga(
+                paymentRepository, paymentEventStore, new AcknowledgingKafkaTemplate(), merchantClient(),
+                new SimpleMeterRegistry(),
+                List.of(SagaStep.DEBIT, SagaStep.APPROVE, SagaStep.PUBLISH)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (merchantService != null) {
+            merchantService.stop(0);
+        }
+    }
+
+    @Benchmark
+    public void executePaymentSaga() {
+        // the saga skips payments that already left PENDING, so every invocation starts from a fresh one
+        payment.setStatus(PaymentStatus.PENDING);
+        paymentSaga.executePaymentSaga(paymentId);
+    }
+
+    private MerchantClient merchantClient() throws IOException {
+        if (merchantClient.equals("STUB")) {
+            return new ApprovingMerchantClient();
+        }
+
+        // without it Nagle and delayed ACKs add ~40ms to every response and hide the clients' own cost
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        merchantService = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        merchantService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        merchantService.createContext("/api/merchants/", exchange -> {
+            byte[] body = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        merchantService.start();
+        String baseUrl = "http://localhost:" + merchantService.getAddress().getPort();
+
+        return switch (merchantClient) {
+            // built like PaymentConfig#merchantHttpClient
+            case "HTTP_CLIENT" -> new MerchantClient(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofMillis(1000))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build(), baseUrl, 3000);
+            case "REST_TEMPLATE" -> new RestTemplateMerchantClient(baseUrl);
+            default -> throw new IllegalArgumentException("Unknown merchant client: " + merchantClient);
+        };
+    }
+
+    static class AcknowledgingKafkaTemplate extends KafkaTemplate<String, Object> {
+        AcknowledgingKafkaTemplate() {
+            super(() -> {
+                throw new UnsupportedOperationException("no broker in benchmarks");
+            });
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    static class ApprovingMerchantClient extends MerchantClient {
+        private static final CompletableFuture<Boolean> APPROVED = CompletableFuture.completedFuture(true);
+
+        ApprovingMerchantClient() {
+            super(HttpClient.newHttpClient(), "http://localhost", 1000);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> debit(UUID merchantId, BigDecimal amount) {
+            return APPROVED;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> credit(UUID merchantId, BigDecimal amount) {
+            return APPROVED;
+        }
+    }
+
+    // the blocking call PaymentSaga made before MerchantClient existed: a default RestTemplate and a Map body
+    static class RestTemplateMerchantClient extends MerchantClient {
+        private final RestTemplate restTemplate = new RestTemplate();
+        private final String baseUrl;
+
+        RestTemplateMerchantClient(String baseUrl) {
+            super(HttpClient.newHttpClient(), baseUrl, 1000);
+            this.baseUrl = baseUrl;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> debit(UUID merchantId, BigDecimal amount) {
+            return CompletableFuture.completedFuture(post(merchantId, "debit", amount));
+        }
+
+        @Override
+        public CompletableFuture<Boolean> credit(UUID merchantId, BigDecimal amount) {
+            return CompletableFuture.completedFuture(post(merchantId, "credit", amount));
+        }
+
+        private boolean post(UUID merchantId, String operation, BigDecimal amount) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<Map<String, Object>> request = new HttpEntity<>(Map.of("amount", amount), headers);
+            String url = baseUrl + "/api/merchants/" + merchantId + "/" + operation;
+            return restTemplate.postForEntity(url, request, Map.class).getStatusCode().is2xxSuccessful();
+        }
+    }
+}
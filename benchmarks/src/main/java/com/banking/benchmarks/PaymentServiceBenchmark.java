@@ -0,0 +1,65 @@
+package com.banking.benchmarks;
+
+import com.banking.payment.dto.PaymentDto;
+import com.banking.payment.repository.IdempotencyKeyRepository;
+import com.banking.payment.repository.OutboxMessageRepository;
+import com.banking.payment.repository.PaymentEventRepository;
+import com.banking.payment.repository.PaymentRepository;
+import com.banking.payment.service.MerchantDirectory;
+import com.banking.payment.service.PaymentEventStore;
+import com.banking.payment.service.PaymentIdempotencyStore;
+import com.banking.payment.service.PaymentOutbox;
+import com.banking.payment.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentServiceBenchmark {
+
+    private PaymentService paymentService;
+    private PaymentDto request;
+
+    @Setup
+    public void setUp() {
+        PaymentRepository paymentRepository = Stubs.repository(PaymentRepository.class);
+        PaymentEventStore paymentEventStore = new PaymentEventStore(
+                Stubs.repository(PaymentEventRepository.class), Stubs.paymentEventJournal(), event -> { }
+        );
+        PaymentOutbox paymentOutbox = new PaymentOutbox(
+                Stubs.repository(OutboxMessageRepository.class),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                new JdbcTemplate()
+        );
+
+        PaymentIdempotencyStore paymentIdempotencyStore = new PaymentIdempotencyStore(
+                Stubs.repository(IdempotencyKeyRepository.class), new JdbcTemplate(), new SimpleMeterRegistry(), 1000, 24
+        );
+
+        // never started, so it lets every payment through like a directory that has not caught up yet
+        MerchantDirectory merchantDirectory = new MerchantDirectory(null, new SimpleMeterRegistry(), "merchant-directory", false);
+
+        paymentService = new PaymentService(
+                paymentRepository, paymentEventStore, paymentOutbox, paymentIdempotencyStore, merchantDirectory
+        );
+        request = new PaymentDto(
+                UUID.randomUUID(), "payer@bank.com", UUID.randomUUID(), new BigDecimal("149.90"), "BRL"
+        );
+    }
+
+    @Benchmark
+    public UUID createPayment() {
+        return paymentService.createPayment(request);
+    }
+}
@@ -0,0 +1,41 @@
+package com.banking.benchmarks;
+
+import com.banking.payment.model.PaymentEventEntity;
+import com.banking.payment.service.PaymentEventJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> T repository(Class<T> type) {
+        return repository(type, null);
+    }
+
+    static <T> T repository(Class<T> type, Object findByIdResult) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) ->
+                switch (method.getName()) {
+                    case "save", "saveAndFlush" -> args[0];
+                    case "findById" -> Optional.ofNullable(findByIdResult);
+                    case "existsById" -> findByIdResult != null;
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> type.getSimpleName() + "Stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return type.cast(proxy);
+    }
+
+    static PaymentEventJournal paymentEventJournal() {
+        return new PaymentEventJournal(null, null, null, new SimpleMeterRegistry(), 1, 1) {
+            @Override
+            public void append(List<PaymentEventEntity> events) {
+            }
+        };
+    }
+}
@@ -0,0 +1,380 @@
+package com.banking.core.codec;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.core.event.PaymentProcessedEvent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Layout: MAGIC, type, version, 16-bit presence mask, then the non-null fields in schema order.
+ * Adding or reordering fields requires a new version; status codes are pinned and must never be renumbered.
+ */
+public final class PaymentEventCodec {
+    public static final byte MAGIC = (byte) 0xB1;
+
+    static final byte PAYMENT_CREATED = 1;
+    static final byte PAYMENT_PROCESSED = 2;
+    // 3 was payment-completed, which has no producer any more; type codes are never reused
+    static final byte VERSION_1 = 1;
+
+    private static final int WIDE_AMOUNT = 1 << 15;
+    private static final int CUSTOM_STATUS = 0x7F;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+
+    private PaymentEventCodec() {
+    }
+
+    public static boolean supports(Object event) {
+        return event instanceof PaymentCreatedEvent || event instanceof PaymentProcessedEvent;
+    }
+
+    public static byte[] encode(Object event) {
+        return switch (event) {
+            case PaymentCreatedEvent e -> encodeStatusEvent(PAYMENT_CREATED, e.getEventId(), e.getEventDateTime(),
+                    e.getPaymentId(), e.getPayerId(), e.getPayerEmail(), e.getPayeeId(), e.getAmount(),
+                    e.getCurrency(), e.getStatus());
+            case PaymentProcessedEvent e -> encodeProcessed(e);
+            default -> throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+        };
+    }
+
+    public static Object decode(byte[] payload) {
+        if (payload.length < 3 || payload[0] != MAGIC) {
+            throw new IllegalArgumentException("Payload is not a binary payment event");
+        }
+
+        byte type = payload[1];
+        byte version = payload[2];
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported schema version " + version + " for event type " + type);
+        }
+
+        Reader in = new Reader(payload, 3);
+        try {
+            return switch (type) {
+                case PAYMENT_CREATED -> decodeCreated(in);
+                case PAYMENT_PROCESSED -> decodeProcessed(in);
+                default -> throw new IllegalArgumentException("Unknown event type " + type);
+            };
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated binary payment event", e);
+        }
+    }
+
+    private static byte[] encodeStatusEvent(
+            byte type,
+            UUID eventId,
+            LocalDateTime eventDateTime,
+            UUID paymentId,
+            UUID payerId,
+            String payerEmail,
+            UUID payeeId,
+            BigDecimal amount,
+            String currency,
+            PaymentStatus status
+    ) {
+        int mask = bit(0, eventId) | bit(1, eventDateTime) | bit(2, paymentId) | bit(3, payerId)
+                | bit(4, payerEmail) | bit(5, payeeId) | bit(6, amount) | bit(7, currency) | bit(8, status)
+                | wideAmount(amount);
+
+        Writer out = new Writer(type, mask);
+        out.uuid(eventId);
+        out.dateTime(eventDateTime);
+        out.uuid(paymentId);
+        out.uuid(payerId);
+        out.string(payerEmail);
+        out.uuid(payeeId);
+        out.amount(amount, mask);
+        out.string(currency);
+        if (status != null) {
+            out.writeByte(statusCode(status));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeProcessed(PaymentProcessedEvent e) {
+        int mask = bit(0, e.getEventId()) | bit(1, e.getEventDateTime()) | bit(2, e.getPaymentId())
+                | bit(3, e.getPayerId()) | bit(4, e.getPayeeId()) | bit(5, e.getAmount()) | bit(6, e.getCurrency())
+                | bit(7, e.getStatus()) | bit(8, e.getPayerEmail()) | bit(9, e.getDescription())
+                | wideAmount(e.getAmount());
+
+        Writer out = new Writer(PAYMENT_PROCESSED, mask);
+        out.uuid(e.getEventId());
+        out.dateTime(e.getEventDateTime());
+        out.uuid(e.getPaymentId());
+        out.uuid(e.getPayerId());
+        out.uuid(e.getPayeeId());
+        out.amount(e.getAmount(), mask);
+        out.string(e.getCurrency());
+        if (e.getStatus() != null) {
+            PaymentStatus known = knownStatus(e.getStatus());
+            if (known != null) {
+                out.writeByte(statusCode(known));
+            } else {
+                out.writeByte(CUSTOM_STATUS);
+                out.string(e.getStatus());
+            }
+        }
+        out.string(e.getPayerEmail());
+        out.string(e.getDescription());
+        return out.toByteArray();
+    }
+
+    private static PaymentCreatedEvent decodeCreated(Reader in) {
+        int mask = in.readShort();
+        return PaymentCreatedEvent.builder()
+                .eventId(in.uuid(mask, 0))
+                .eventDateTime(in.dateTime(mask, 1))
+                .paymentId(in.uuid(mask, 2))
+                .payerId(in.uuid(mask, 3))
+                .payerEmail(in.string(mask, 4))
+                .payeeId(in.uuid(mask, 5))
+                .amount(in.amount(mask, 6))
+                .currency(in.string(mask, 7))
+                .status(has(mask, 8) ? status(in.readByte()) : null)
+                .build();
+    }
+
+    private static PaymentProcessedEvent decodeProcessed(Reader in) {
+        int mask = in.readShort();
+        PaymentProcessedEvent.PaymentProcessedEventBuilder builder = PaymentProcessedEvent.builder()
+                .eventId(in.uuid(mask, 0))
+                .eventDateTime(in.dateTime(mask, 1))
+                .paymentId(in.uuid(mask, 2))
+                .payerId(in.uuid(mask, 3))
+                .payeeId(in.uuid(mask, 4))
+                .amount(in.amount(mask, 5))
+                .currency(in.string(mask, 6));
+
+        if (has(mask, 7)) {
+            int code = in.readByte();
+            builder.status(code == CUSTOM_STATUS ? in.string(mask, 7) : status(code).name());
+        }
+
+        return builder
+                .payerEmail(in.string(mask, 8))
+                .description(in.string(mask, 9))
+                .build();
+    }
+
+    private static int statusCode(PaymentStatus status) {
+        return switch (status) {
+            case PENDING -> 0;
+            case APPROVED -> 1;
+            case REJECTED -> 2;
+        };
+    }
+
+    private static PaymentStatus status(int code) {
+        return switch (code) {
+            case 0 -> PaymentStatus.PENDING;
+            case 1 -> PaymentStatus.APPROVED;
+            case 2 -> PaymentStatus.REJECTED;
+            default -> throw new IllegalArgumentException("Unknown payment status code " + code);
+        };
+    }
+
+    private static PaymentStatus knownStatus(String status) {
+        for (PaymentStatus candidate : PaymentStatus.values()) {
+            if (candidate.name().equals(status)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static int bit(int index, Object value) {
+        return value == null ? 0 : 1 << index;
+    }
+
+    private static boolean has(int mask, int index) {
+        return (mask & (1 << index)) != 0;
+    }
+
+    private static int wideAmount(BigDecimal amount) {
+        return amount != null && amount.unscaledValue().bitLength() > 63 ? WIDE_AMOUNT : 0;
+    }
+
+    private static final class Writer {
+        private byte[] buf = new byte[128];
+        private int pos;
+
+        Writer(byte type, int mask) {
+            buf[0] = MAGIC;
+            buf[1] = type;
+            buf[2] = VERSION_1;
+            SHORT.set(buf, 3, (short) mask);
+            pos = 5;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buf[pos++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            LONG.set(buf, pos, value);
+            pos += 8;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void uuid(UUID value) {
+            if (value != null) {
+                writeLong(value.getMostSignificantBits());
+                writeLong(value.getLeastSignificantBits());
+            }
+        }
+
+        void dateTime(LocalDateTime value) {
+            if (value != null) {
+                writeLong(value.toEpochSecond(ZoneOffset.UTC));
+                writeVarLong(value.getNano());
+            }
+        }
+
+        void amount(BigDecimal value, int mask) {
+            if (value != null) {
+                writeVarLong(zigZag(value.scale()));
+                if ((mask & WIDE_AMOUNT) != 0) {
+                    writeBytes(value.unscaledValue().toByteArray());
+                } else {
+                    writeVarLong(zigZag(value.unscaledValue().longValue()));
+                }
+            }
+        }
+
+        void string(String value) {
+            if (value != null) {
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int bytes) {
+            if (pos + bytes > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + bytes));
+            }
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int readByte() {
+            return buf[pos++] & 0xFF;
+        }
+
+        int readShort() {
+            Objects.checkFromIndexSize(pos, 2, buf.length);
+            int value = (short) SHORT.get(buf, pos) & 0xFFFF;
+            pos += 2;
+            return value;
+        }
+
+        long readLong() {
+            Objects.checkFromIndexSize(pos, 8, buf.length);
+            long value = (long) LONG.get(buf, pos);
+            pos += 8;
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        byte[] readBytes() {
+            int length = Math.toIntExact(readVarLong());
+            Objects.checkFromIndexSize(pos, length, buf.length);
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        UUID uuid(int mask, int index) {
+            return has(mask, index) ? new UUID(readLong(), readLong()) : null;
+        }
+
+        LocalDateTime dateTime(int mask, int index) {
+            if (!has(mask, index)) {
+                return null;
+            }
+            long epochSecond = readLong();
+            return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+        }
+
+        BigDecimal amount(int mask, int index) {
+            if (!has(mask, index)) {
+                return null;
+            }
+            int scale = (int) unZigZag(readVarLong());
+            return (mask & WIDE_AMOUNT) != 0
+                    ? new BigDecimal(new BigInteger(readBytes()), scale)
+                    : BigDecimal.valueOf(unZigZag(readVarLong()), scale);
+        }
+
+        String string(int mask, int index) {
+            if (!has(mask, index)) {
+                return null;
+            }
+            int length = Math.toIntExact(readVarLong());
+            Objects.checkFromIndexSize(pos, length, buf.length);
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.banking.core.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class PaymentEventSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            return PaymentEventCodec.encode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Cannot encode " + data.getClass().getName() + " for topic " + topic, e);
+        }
+    }
+}
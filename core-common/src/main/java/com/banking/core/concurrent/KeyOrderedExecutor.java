@@ -0,0 +1,61 @@
+package com.banking.core.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs tasks on virtual threads, one at a time per key and in submission order, while different keys run in parallel.
+ * A failing task is retried up to {@code maxAttempts} times before its future fails; either way the next task for the key runs.
+ */
+public final class KeyOrderedExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Map<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+    private volatile boolean closed;
+
+    public KeyOrderedExecutor(String name, int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+        this.maxAttempts = maxAttempts;
+    }
+
+    public CompletableFuture<Void> submit(Object key, Runnable task) {
+        if (closed) {
+            throw new IllegalStateException("Executor is closed");
+        }
+
+        CompletableFuture<Void> next = tails.compute(key, (k, tail) -> tail == null
+                ? CompletableFuture.runAsync(() -> runWithRetries(task), executor)
+                : tail.handle((result, error) -> null).thenRunAsync(() -> runWithRetries(task), executor));
+        next.whenComplete((result, error) -> tails.remove(key, next));
+        return next;
+    }
+
+    public int activeKeys() {
+        return tails.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.close();
+    }
+
+    private void runWithRetries(Runnable task) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                task.run();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
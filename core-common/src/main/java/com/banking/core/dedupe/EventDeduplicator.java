@@ -0,0 +1,80 @@
+package com.banking.core.dedupe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Lets each event through once. The {@link ProcessedEventLog} decides: {@link #claim} records the ids in the caller's
+ * transaction, before the work they guard, and only events whose id that claim inserted pass. The in-memory
+ * {@link RotatingBloomFilter} is just a hint for {@link #alreadyProcessed}, which lets a listener drop an obvious
+ * redelivery before doing any work and costs no lookup for ids the filter has never seen.
+ * Events without an id cannot be told apart and always pass.
+ */
+public final class EventDeduplicator {
+    private final ProcessedEventLog processedEventLog;
+    private final RotatingBloomFilter recentIds;
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+
+    public EventDeduplicator(ProcessedEventLog processedEventLog, int recentEvents, double falsePositiveRate) {
+        this.processedEventLog = processedEventLog;
+        this.recentIds = new RotatingBloomFilter(recentEvents, falsePositiveRate);
+    }
+
+    public <E> List<E> claim(List<E> events, Function<E, UUID> eventId) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        events.forEach(event -> {
+            UUID id = eventId.apply(event);
+            if (id != null) {
+                ids.add(id);
+            }
+        });
+        Set<UUID> claimed = ids.isEmpty() ? Set.of() : processedEventLog.claim(ids);
+        claimed.forEach(recentIds::add);
+
+        Set<UUID> passed = new HashSet<>();
+        List<E> fresh = new ArrayList<>(events.size());
+        for (E event : events) {
+            UUID id = eventId.apply(event);
+            if (id != null && (!claimed.contains(id) || !passed.add(id))) {
+                duplicates.increment();
+                continue;
+            }
+            fresh.add(event);
+        }
+        return fresh;
+    }
+
+    public boolean claim(UUID eventId) {
+        return claim(Collections.singletonList(eventId), Function.identity()).size() == 1;
+    }
+
+    // a hint only: false does not mean new, and an event that passes here must still be claimed
+    public boolean alreadyProcessed(UUID eventId) {
+        if (eventId == null || !recentIds.mightContain(eventId)) {
+            return false;
+        }
+
+        lookups.increment();
+        if (processedEventLog.findProcessed(List.of(eventId)).isEmpty()) {
+            return false;
+        }
+        duplicates.increment();
+        return true;
+    }
+
+    public double duplicates() {
+        return duplicates.sum();
+    }
+
+    public double lookups() {
+        return lookups.sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.core.dedupe;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ProcessedEventLog} over an {@code (event_id UUID PRIMARY KEY, processed_at TIMESTAMP)} table created by the
+ * owning service's migrations. Statements join the caller's transaction, so a claim commits or rolls back with the
+ * work it guards.
+ */
+@Slf4j
+public class JdbcProcessedEventLog implements ProcessedEventLog {
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final String findProcessed;
+    private final String claimProcessed;
+    private final String deleteExpired;
+
+    public JdbcProcessedEventLog(NamedParameterJdbcTemplate jdbcTemplate, String table, Duration retention) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid processed events table: " + table);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        this.findProcessed = "SELECT event_id FROM " + table + " WHERE event_id IN (:ids)";
+        this.claimProcessed = "INSERT INTO " + table + " (event_id, processed_at) SELECT event_id, ? FROM unnest(?) AS ids(event_id)"
+                + " ON CONFLICT (event_id) DO NOTHING RETURNING event_id";
+        this.deleteExpired = "DELETE FROM " + table + " WHERE processed_at < ?";
+    }
+
+    @Override
+    public Set<UUID> findProcessed(Collection<UUID> eventIds) {
+        return new HashSet<>(jdbcTemplate.queryForList(findProcessed, Map.of("ids", eventIds), UUID.class));
+    }
+
+    @Override
+    public Set<UUID> claim(Collection<UUID> eventIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return new HashSet<>(jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(claimProcessed);
+            statement.setObject(1, now);
+            statement.setArray(2, connection.createArrayOf("uuid", eventIds.toArray()));
+            return statement;
+        }, (row, rowNum) -> row.getObject(1, UUID.class)));
+    }
+
+    @Scheduled(fixedDelayString = "${kafka.dedupe.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = jdbcTemplate.getJdbcTemplate().update(deleteExpired, LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("🧹 {} eventos processados expirados removidos", removed);
+        }
+    }
+}
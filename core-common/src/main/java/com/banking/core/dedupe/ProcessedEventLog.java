@@ -0,0 +1,20 @@
+package com.banking.core.dedupe;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The durable record of event ids a consumer has already handled, and the authority on whether an event is new:
+ * {@link #claim} records ids in the caller's transaction and reports which ones were not recorded before.
+ */
+public interface ProcessedEventLog {
+
+    Set<UUID> findProcessed(Collection<UUID> eventIds);
+
+    /**
+     * Records the ids that are not recorded yet and returns exactly those. A copy claimed by a transaction that has
+     * not finished yet waits for it, and is only claimed here if that transaction rolls back.
+     */
+    Set<UUID> claim(Collection<UUID> eventIds);
+}
@@ -0,0 +1,104 @@
+package com.banking.core.dedupe;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size bloom filter over UUIDs that forgets old entries in bulk. Ids are added to the current generation;
+ * once it holds {@code capacity} ids it becomes the previous generation and the one before it is dropped, so at
+ * least the last {@code capacity} ids are always remembered and memory never grows.
+ */
+public final class RotatingBloomFilter {
+    private final int capacity;
+    private final int bits;
+    private final int hashes;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public RotatingBloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+
+        // both generations are checked, so each gets half of the allowed false positive rate
+        double optimalBits = -capacity * Math.log(falsePositiveRate / 2) / (Math.log(2) * Math.log(2));
+        this.capacity = capacity;
+        this.bits = (int) Math.min(Math.ceil(optimalBits / Long.SIZE) * Long.SIZE, Integer.MAX_VALUE - Long.SIZE);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        this.current = new Generation(bits);
+        this.previous = new Generation(bits);
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = h1(id);
+        long h2 = h2(id);
+        // read current first: rotate() publishes the new previous before the new current
+        return current.contains(h1, h2) || previous.contains(h1, h2);
+    }
+
+    public void add(UUID id) {
+        Generation generation = current;
+        generation.add(h1(id), h2(id));
+        if (generation.size.incrementAndGet() == capacity) {
+            rotate(generation);
+        }
+    }
+
+    private synchronized void rotate(Generation full) {
+        if (current == full) {
+            previous = full;
+            current = new Generation(bits);
+        }
+    }
+
+    private static long h1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    }
+
+    private static long h2(UUID id) {
+        return mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private final class Generation {
+        private final AtomicLongArray words;
+        private final AtomicInteger size = new AtomicInteger();
+
+        Generation(int bits) {
+            this.words = new AtomicLongArray(bits / Long.SIZE);
+        }
+
+        boolean contains(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                int bit = bit(h1, h2, i);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                int bit = bit(h1, h2, i);
+                long mask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+
+        private int bit(long h1, long h2, int i) {
+            return (int) Long.remainderUnsigned(h1 + i * h2, bits);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.banking.core.event;
 
-import com.banking.core.enums.PaymentStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -10,17 +9,17 @@ import lombok.experimental.SuperBuilder;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * Latest committed state of a merchant, keyed by merchant id on the compacted {@code merchant-directory} topic,
+ * so the topic always holds one current record per merchant.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
 @EqualsAndHashCode(callSuper = false)
-public class PaymentCompletedEvent extends BaseEvent {
-    private UUID paymentId;
-    private UUID payerId;
-    private String payerEmail;
-    private UUID payeeId;
-    private BigDecimal amount;
+public class MerchantUpdatedEvent extends BaseEvent {
+    private UUID merchantId;
+    private BigDecimal balance;
     private String currency;
-    private PaymentStatus status;
 }
@@ -0,0 +1,57 @@
+package com.banking.core.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * UUIDv7 (RFC 9562): 48-bit Unix millis, version, a 42-bit counter re-seeded randomly every millisecond, variant, 32 random bits.
+ * State is per thread, so ids are strictly increasing within a thread and ordered by millisecond across threads.
+ */
+public final class TimeOrderedUuid {
+    private static final int COUNTER_BITS = 42;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+    private static final long COUNTER_SEED_MASK = COUNTER_MAX >>> 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private TimeOrderedUuid() {
+    }
+
+    public static UUID next() {
+        return STATE.get().next(System.currentTimeMillis());
+    }
+
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a time-ordered UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    static final class State {
+        private long lastMillis = -1;
+        private long counter;
+
+        UUID next(long now) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (now > lastMillis) {
+                lastMillis = now;
+                counter = random.nextLong() & COUNTER_SEED_MASK;
+            } else if (++counter > COUNTER_MAX) {
+                // counter exhausted within one millisecond: borrow the next one instead of going backwards
+                lastMillis++;
+                counter = random.nextLong() & COUNTER_SEED_MASK;
+            }
+
+            long mostSigBits = (lastMillis << 16) | VERSION_7 | (counter >>> 30);
+            long leastSigBits = VARIANT_RFC_4122 | ((counter & 0x3FFFFFFFL) << 32) | (random.nextInt() & 0xFFFFFFFFL);
+            return new UUID(mostSigBits, leastSigBits);
+        }
+
+        void seedCounter(long value) {
+            counter = value;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.banking.core.journal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Collects appends from many threads and hands them to the writer as one batch, completing each append's future once its batch is written.
+ * A lone append is written immediately; the window is only spent waiting when other appends are already queued.
+ */
+public final class GroupCommitJournal<E> implements AutoCloseable {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<Append<E>> queue = new LinkedBlockingQueue<>();
+    private final Consumer<List<E>> writer;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public GroupCommitJournal(String name, Consumer<List<E>> writer, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.writer = writer;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Thread.ofPlatform().daemon().name(name + "-journal").start(this::run);
+    }
+
+    public CompletableFuture<Void> append(List<E> entries) {
+        if (!running) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        Append<E> append = new Append<>(List.copyOf(entries), new CompletableFuture<>());
+        queue.add(append);
+        // close() may have drained the queue between the check and the add; whoever removes the append completes it,
+        // so it is failed here only if neither the flusher nor close() took it
+        if (!running && queue.remove(append)) {
+            append.durable().completeExceptionally(new IllegalStateException("Journal is closed"));
+        }
+        return append.durable();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending(new IllegalStateException("Journal is closed"));
+    }
+
+    private void run() {
+        List<Append<E>> group = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Append<E> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group, first.entries().size());
+                write(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                group.forEach(append -> append.durable().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void collect(List<Append<E>> group, int size) throws InterruptedException {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + windowNanos;
+        while (size < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            Append<E> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+            size += next.entries().size();
+        }
+    }
+
+    private void write(List<Append<E>> group) {
+        List<E> batch = new ArrayList<>();
+        group.forEach(append -> batch.addAll(append.entries()));
+
+        try {
+            writer.accept(batch);
+            group.forEach(append -> append.durable().complete(null));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.getFirst().durable().completeExceptionally(e);
+                return;
+            }
+            // one bad append must not fail the appends it happened to be grouped with
+            group.forEach(append -> write(List.of(append)));
+        }
+    }
+
+    private void failPending(Throwable cause) {
+        Append<E> append;
+        while ((append = queue.poll()) != null) {
+            append.durable().completeExceptionally(cause);
+        }
+    }
+
+    private record Append<E>(List<E> entries, CompletableFuture<Void> durable) {
+    }
+}
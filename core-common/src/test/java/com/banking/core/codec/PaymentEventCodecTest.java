@@ -0,0 +1,125 @@
+package com.banking.core.codec;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.core.event.PaymentProcessedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PaymentEventCodecTest {
+
+    private final PaymentEventSerializer serializer = new PaymentEventSerializer();
+    private final PaymentEventDeserializer deserializer = new PaymentEventDeserializer();
+
+    private Object roundTrip(Object event) {
+        return deserializer.deserialize("topic", serializer.serialize("topic", event));
+    }
+
+    private PaymentCreatedEvent createdEvent() {
+        return PaymentCreatedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventDateTime(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_932))
+                .paymentId(UUID.randomUUID())
+                .payerId(UUID.randomUUID())
+                .payerEmail("payer@bank.com")
+                .payeeId(UUID.randomUUID())
+                .amount(new BigDecimal("149.90"))
+                .currency("BRL")
+                .status(PaymentStatus.PENDING)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should round-trip PaymentCreatedEvent keeping amount scale and timestamp precision")
+    public void shouldRoundTripPaymentCreatedEvent() {
+        PaymentCreatedEvent event = createdEvent();
+
+        Object decoded = roundTrip(event);
+
+        assertThat(decoded).isInstanceOf(PaymentCreatedEvent.class).isEqualTo(event);
+        assertThat(((PaymentCreatedEvent) decoded).getAmount().scale()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should round-trip PaymentProcessedEvent with known and free-form statuses")
+    public void shouldRoundTripPaymentProcessedEvent() {
+        PaymentProcessedEvent approved = PaymentProcessedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventDateTime(LocalDateTime.now())
+                .paymentId(UUID.randomUUID())
+                .payerId(UUID.randomUUID())
+                .payeeId(UUID.randomUUID())
+                .amount(new BigDecimal("-0.01"))
+                .currency("BRL")
+                .status("APPROVED")
+                .payerEmail("payer@bank.com")
+                .description("Pagamento aprovado ✅")
+                .build();
+        PaymentProcessedEvent custom = PaymentProcessedEvent.builder()
+                .paymentId(approved.getPaymentId())
+                .amount(approved.getAmount())
+                .status("CHARGEBACK")
+                .build();
+
+        assertThat(roundTrip(approved)).isEqualTo(approved);
+        assertThat(roundTrip(custom)).isEqualTo(custom);
+    }
+
+    @Test
+    @DisplayName("Should round-trip PaymentCreatedEvent with null fields")
+    public void shouldRoundTripPaymentCreatedEventWithNulls() {
+        PaymentCreatedEvent event = PaymentCreatedEvent.builder()
+                .paymentId(UUID.randomUUID())
+                .amount(BigDecimal.TEN)
+                .status(PaymentStatus.APPROVED)
+                .build();
+
+        assertThat(roundTrip(event)).isInstanceOf(PaymentCreatedEvent.class).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should keep amounts whose unscaled value does not fit in a long")
+    public void shouldRoundTripWideAmounts() {
+        PaymentCreatedEvent event = createdEvent();
+        event.setAmount(new BigDecimal("123456789012345678901234567890.12"));
+
+        assertThat(roundTrip(event)).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should encode a fully populated event in well under the size of its JSON form")
+    public void shouldBeCompact() {
+        assertThat(serializer.serialize("topic", createdEvent())).hasSizeLessThan(128);
+    }
+
+    @Test
+    @DisplayName("Should reject payloads that are not binary payment events")
+    public void shouldRejectForeignPayloads() {
+        assertThatThrownBy(() -> deserializer.deserialize("topic", "{\"paymentId\":null}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown schema versions and truncated payloads")
+    public void shouldRejectUnknownVersionAndTruncatedPayloads() {
+        byte[] payload = serializer.serialize("topic", createdEvent());
+
+        byte[] futureVersion = payload.clone();
+        futureVersion[2] = 99;
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 5);
+
+        assertThatThrownBy(() -> deserializer.deserialize("topic", futureVersion))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Unsupported schema version 99 for event type 1");
+        assertThatThrownBy(() -> deserializer.deserialize("topic", truncated))
+                .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.banking.core.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("test", 3);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should run tasks of the same key in submission order")
+    public void shouldKeepOrderPerKey() {
+        Map<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            int key = i % 10;
+            int value = i;
+            futures.add(executor.submit(key, () -> seen.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(value)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertThat(seen).hasSize(10);
+        seen.values().forEach(values -> assertThat(values).hasSize(100).isSorted());
+        assertThat(executor.activeKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run different keys in parallel while a key is blocked")
+    public void shouldNotBlockOtherKeys() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = executor.submit("slow", () -> await(release));
+        CompletableFuture<Void> queuedBehind = executor.submit("slow", () -> { });
+        CompletableFuture<Void> other = executor.submit("fast", () -> { });
+
+        other.orTimeout(1, TimeUnit.SECONDS).join();
+        assertThat(blocked).isNotDone();
+        assertThat(queuedBehind).isNotDone();
+
+        release.countDown();
+        queuedBehind.orTimeout(1, TimeUnit.SECONDS).join();
+    }
+
+    @Test
+    @DisplayName("Should retry a failing task and let the key continue once it gives up")
+    public void shouldRetryAndContinueAfterFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<Void> failing = executor.submit("key", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Void> next = executor.submit("key", () -> { });
+
+        assertThatThrownBy(() -> failing.orTimeout(1, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(3);
+        next.orTimeout(1, TimeUnit.SECONDS).join();
+    }
+
+    @Test
+    @DisplayName("Should reject tasks after close")
+    public void shouldRejectAfterClose() {
+        executor.close();
+
+        assertThatThrownBy(() -> executor.submit("key", () -> { })).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
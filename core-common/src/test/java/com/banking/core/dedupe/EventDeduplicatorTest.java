@@ -0,0 +1,103 @@
+package com.banking.core.dedupe;
+
+import com.banking.core.event.PaymentProcessedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class EventDeduplicatorTest {
+
+    private final RecordingLog processedEventLog = new RecordingLog();
+    private final EventDeduplicator deduplicator = new EventDeduplicator(processedEventLog, 1_000, 0.01);
+
+    private static PaymentProcessedEvent event(UUID eventId) {
+        return PaymentProcessedEvent.builder().eventId(eventId).paymentId(UUID.randomUUID()).build();
+    }
+
+    @Test
+    @DisplayName("Should pass only the events whose id this claim recorded")
+    public void shouldPassOnlyClaimedEvents() {
+        PaymentProcessedEvent handled = event(UUID.randomUUID());
+        PaymentProcessedEvent fresh = event(UUID.randomUUID());
+        processedEventLog.ids.add(handled.getEventId());
+
+        assertThat(deduplicator.claim(List.of(handled, fresh), PaymentProcessedEvent::getEventId)).containsExactly(fresh);
+        assertThat(processedEventLog.ids).contains(fresh.getEventId());
+        assertThat(deduplicator.claim(fresh.getEventId())).isFalse();
+        assertThat(deduplicator.duplicates()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should consult the log for an event the filter has never seen instead of trusting the miss")
+    public void shouldNotTrustFilterMiss() {
+        // claimed by another instance, so this instance's filter has never seen it
+        UUID elsewhere = UUID.randomUUID();
+        processedEventLog.ids.add(elsewhere);
+
+        assertThat(deduplicator.alreadyProcessed(elsewhere)).isFalse();
+        assertThat(deduplicator.claim(elsewhere)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only look up ids the filter may have seen and trust the log over the filter")
+    public void shouldUseFilterAsHint() {
+        UUID unseen = UUID.randomUUID();
+        UUID claimed = UUID.randomUUID();
+        deduplicator.claim(claimed);
+
+        assertThat(deduplicator.alreadyProcessed(unseen)).isFalse();
+        assertThat(deduplicator.alreadyProcessed(claimed)).isTrue();
+        assertThat(processedEventLog.lookups).containsExactly(claimed);
+
+        // purged from the log after its retention
+        processedEventLog.ids.remove(claimed);
+        assertThat(deduplicator.alreadyProcessed(claimed)).isFalse();
+        assertThat(deduplicator.claim(claimed)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep only the first copy of an event repeated within a batch and always pass events without id")
+    public void shouldDropRepeatsWithinBatch() {
+        UUID id = UUID.randomUUID();
+        PaymentProcessedEvent first = event(id);
+        PaymentProcessedEvent repeat = event(id);
+        PaymentProcessedEvent anonymous = event(null);
+
+        assertThat(deduplicator.claim(List.of(first, repeat, anonymous), PaymentProcessedEvent::getEventId)).containsExactly(first, anonymous);
+        assertThat(processedEventLog.ids).containsExactly(id);
+        assertThat(deduplicator.claim(null)).isTrue();
+        assertThat(deduplicator.alreadyProcessed(null)).isFalse();
+    }
+
+    private static class RecordingLog implements ProcessedEventLog {
+        private final Set<UUID> ids = new HashSet<>();
+        private final List<UUID> lookups = new ArrayList<>();
+
+        @Override
+        public Set<UUID> findProcessed(Collection<UUID> eventIds) {
+            lookups.addAll(eventIds);
+            Set<UUID> found = new HashSet<>(eventIds);
+            found.retainAll(ids);
+            return found;
+        }
+
+        @Override
+        public Set<UUID> claim(Collection<UUID> eventIds) {
+            Set<UUID> claimed = new HashSet<>();
+            eventIds.forEach(id -> {
+                if (ids.add(id)) {
+                    claimed.add(id);
+                }
+            });
+            return claimed;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.banking.core.dedupe;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RotatingBloomFilterTest {
+
+    @Test
+    @DisplayName("Should remember every id added within the last capacity inserts")
+    public void shouldHaveNoFalseNegativesWithinCapacity() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1_000, 0.01);
+        List<UUID> ids = IntStream.range(0, 2_500).mapToObj(i -> UUID.randomUUID()).toList();
+
+        ids.forEach(filter::add);
+
+        assertThat(ids.subList(1_500, 2_500)).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("Should forget ids once two newer generations have filled up")
+    public void shouldForgetOldGenerations() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(100, 0.001);
+        List<UUID> old = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID()).toList();
+        old.forEach(filter::add);
+
+        IntStream.range(0, 200).forEach(i -> filter.add(UUID.randomUUID()));
+
+        assertThat(old.stream().filter(filter::mightContain).count()).isLessThan(5);
+    }
+
+    @Test
+    @DisplayName("Should keep false positives close to the configured rate")
+    public void shouldRespectFalsePositiveRate() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01);
+        IntStream.range(0, 19_999).forEach(i -> filter.add(UUID.randomUUID()));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID()))
+                .count();
+
+        assertThat(falsePositives).isLessThan(1_500);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing")
+    public void shouldRejectInvalidSizing() {
+        assertThatThrownBy(() -> new RotatingBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RotatingBloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
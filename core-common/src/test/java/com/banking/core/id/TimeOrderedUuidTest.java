@@ -0,0 +1,103 @@
+package com.banking.core.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TimeOrderedUuidTest {
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Test
+    @DisplayName("Should produce RFC 9562 version 7 ids carrying the creation millisecond")
+    public void shouldEncodeVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuid.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuid.timestamp(id)).isBetween(before, after);
+    }
+
+    @Test
+    @DisplayName("Should keep ids strictly increasing within a thread, including inside the same millisecond")
+    public void shouldBeMonotonicWithinThread() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(TimeOrderedUuid.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(compareUnsigned(ids.get(i - 1), ids.get(i))).isNegative();
+            assertThat(ids.get(i - 1)).isLessThan(ids.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay increasing when the clock goes backwards")
+    public void shouldNotGoBackwardsWithClock() {
+        TimeOrderedUuid.State state = new TimeOrderedUuid.State();
+
+        UUID first = state.next(1_000);
+        UUID second = state.next(900);
+
+        assertThat(compareUnsigned(first, second)).isNegative();
+        assertThat(TimeOrderedUuid.timestamp(second)).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("Should borrow the next millisecond when the counter is exhausted")
+    public void shouldBorrowNextMillisecondOnCounterOverflow() {
+        TimeOrderedUuid.State state = new TimeOrderedUuid.State();
+
+        UUID first = state.next(1_000);
+        state.seedCounter((1L << 42) - 1);
+        UUID second = state.next(1_000);
+
+        assertThat(compareUnsigned(first, second)).isNegative();
+        assertThat(TimeOrderedUuid.timestamp(second)).isEqualTo(1_001);
+    }
+
+    @Test
+    @DisplayName("Should not collide across concurrent threads")
+    public void shouldBeUniqueAcrossThreads() throws InterruptedException {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    Set<UUID> local = new HashSet<>();
+                    for (int i = 0; i < 50_000; i++) {
+                        local.add(TimeOrderedUuid.next());
+                    }
+                    ids.addAll(local);
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(ids).hasSize(8 * 50_000);
+    }
+
+    @Test
+    @DisplayName("Should reject reading the timestamp of a random UUID")
+    public void shouldRejectRandomUuidTimestamp() {
+        assertThatThrownBy(() -> TimeOrderedUuid.timestamp(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package com.banking.core.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class GroupCommitJournalTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private GroupCommitJournal<String> journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private GroupCommitJournal<String> journal(Consumer<List<String>> writer, int maxBatchSize) {
+        journal = new GroupCommitJournal<>("test", writer, Duration.ofMillis(50), maxBatchSize);
+        return journal;
+    }
+
+    @Test
+    @DisplayName("Should write a lone append right away and signal durability")
+    public void shouldWriteLoneAppendImmediately() {
+        journal(batches::add, 100);
+
+        journal.append(List.of("a")).orTimeout(1, TimeUnit.SECONDS).join();
+
+        assertThat(batches).containsExactly(List.of("a"));
+    }
+
+    @Test
+    @DisplayName("Should coalesce appends queued while a batch is being written into one batch")
+    public void shouldCoalesceQueuedAppends() throws InterruptedException {
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        journal(batch -> {
+            if (batches.isEmpty()) {
+                firstWriteStarted.countDown();
+                await(releaseFirstWrite);
+            }
+            batches.add(batch);
+        }, 100);
+
+        CompletableFuture<Void> first = journal.append(List.of("first"));
+        assertThat(firstWriteStarted.await(1, TimeUnit.SECONDS)).isTrue();
+
+        List<CompletableFuture<Void>> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(journal.append(List.of("e" + i)));
+        }
+        releaseFirstWrite.countDown();
+
+        first.orTimeout(1, TimeUnit.SECONDS).join();
+        CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).orTimeout(1, TimeUnit.SECONDS).join();
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).hasSize(10).startsWith("e0").endsWith("e9");
+    }
+
+    @Test
+    @DisplayName("Should fail only the append whose entries the writer rejects")
+    public void shouldIsolateFailingAppend() throws InterruptedException {
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        journal(batch -> {
+            if (batch.contains("block")) {
+                firstWriteStarted.countDown();
+                await(releaseFirstWrite);
+            }
+            if (batch.contains("bad")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            batches.add(batch);
+        }, 100);
+
+        journal.append(List.of("block"));
+        assertThat(firstWriteStarted.await(1, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> good = journal.append(List.of("good"));
+        CompletableFuture<Void> bad = journal.append(List.of("bad"));
+        releaseFirstWrite.countDown();
+
+        good.orTimeout(1, TimeUnit.SECONDS).join();
+        assertThatThrownBy(() -> bad.orTimeout(1, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(batches).contains(List.of("good"));
+    }
+
+    @Test
+    @DisplayName("Should flush pending appends on close and reject appends afterwards")
+    public void shouldDrainOnClose() {
+        journal(batches::add, 100);
+
+        CompletableFuture<Void> pending = journal.append(List.of("a", "b"));
+        journal.close();
+
+        assertThat(pending).isCompleted();
+        assertThatThrownBy(() -> journal.append(List.of("c"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should complete every append that races close, written or failed")
+    public void shouldCompleteAppendsRacingClose() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            GroupCommitJournal<String> racing = new GroupCommitJournal<>("race", batches::add, Duration.ofMillis(1), 100);
+            List<CompletableFuture<Void>> appends = new CopyOnWriteArrayList<>();
+            CountDownLatch started = new CountDownLatch(1);
+            Thread appender = Thread.ofPlatform().start(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        appends.add(racing.append(List.of("x")));
+                    }
+                } catch (IllegalStateException e) {
+                    // closed before the check
+                }
+            });
+            assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+            racing.close();
+            appender.join(1000);
+
+            assertThat(appends).allSatisfy(append ->
+                    assertThat(append.handle((result, error) -> null)).succeedsWithin(Duration.ofSeconds(1)));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
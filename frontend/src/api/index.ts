@@ -62,6 +62,11 @@ export const paymentAPI = {
     console.log('📖 GET', `${PAYMENT_SERVICE}/payments`);
     return apiClient.get<Payment[]>(`${PAYMENT_SERVICE}/payments`);
   },
+
+  streamPayment: (id: string) => {
+    console.log('📡 SSE', `${PAYMENT_SERVICE}/payments/${id}/stream`);
+    return new EventSource(`${PAYMENT_SERVICE}/payments/${id}/stream`);
+  },
 };
 
 export const merchantAPI = {
@@ -1,4 +1,4 @@
-import { useState, useCallback, useEffect, useRef } from 'react';
+import { useState, useCallback, useEffect } from 'react';
 import { paymentAPI } from '../api';
 import { Payment, PaymentEvent } from '../types';
 
@@ -24,75 +24,47 @@ export function usePayment() {
     };
   });
 
-  const pollingIntervalRef = useRef<NodeJS.Timeout | null>(null);
-  const paymentIdRef = useRef<string | null>(null);
-
   useEffect(() => {
     localStorage.setItem(STORAGE_KEY, JSON.stringify(state));
   }, [state]);
 
   useEffect(() => {
-    if (!state.payment?.id || state.payment.status !== 'PENDING') {
-      if (pollingIntervalRef.current) {
-        clearInterval(pollingIntervalRef.current);
-        pollingIntervalRef.current = null;
-      }
+    const paymentId = state.payment?.id;
+    if (!paymentId || state.payment?.status !== 'PENDING') {
       return;
     }
 
-    if (paymentIdRef.current === state.payment.id && pollingIntervalRef.current) {
-      return;
-    }
+    console.log('📡 Assinando status do Saga:', paymentId);
+    const stream = paymentAPI.streamPayment(paymentId);
 
-    paymentIdRef.current = state.payment.id;
-    let attemptCount = 0;
-    const maxAttempts = 60; 
-
-    pollingIntervalRef.current = setInterval(async () => {
-      try {
-        attemptCount++;
-        console.log(`⏳ Polling Saga (tentativa ${attemptCount}/${maxAttempts})...`);
-        
-        const [paymentRes, eventsRes] = await Promise.all([
-          paymentAPI.getPayment(state.payment!.id!),
-          paymentAPI.getPaymentEvents(state.payment!.id!),
-        ]);
-
-        console.log('💾 Status do payment:', paymentRes.data.status);
-        console.log('📜 Eventos:', eventsRes.data);
-
-        setState(prev => ({
-          ...prev,
-          payment: paymentRes.data,
-          events: eventsRes.data,
-        }));
-
-        if (paymentRes.data.status !== 'PENDING') {
-          console.log('✅ Saga completado! Status:', paymentRes.data.status);
-          if (pollingIntervalRef.current) {
-            clearInterval(pollingIntervalRef.current);
-            pollingIntervalRef.current = null;
-          }
-        }
+    stream.addEventListener('status', async (message: MessageEvent) => {
+      const update: Payment = JSON.parse(message.data);
+      console.log('💾 Status do payment:', update.status);
 
-        if (attemptCount >= maxAttempts) {
-          console.warn('⚠️ Máximo de tentativas atingido');
-          if (pollingIntervalRef.current) {
-            clearInterval(pollingIntervalRef.current);
-            pollingIntervalRef.current = null;
-          }
+      setState(prev => ({
+        ...prev,
+        payment: prev.payment ? { ...prev.payment, ...update } : update,
+        payments: prev.payments.map(p => (p.id === update.id ? { ...p, ...update } : p)),
+      }));
+
+      if (update.status !== 'PENDING') {
+        console.log('✅ Saga completado! Status:', update.status);
+        stream.close();
+        try {
+          const eventsRes = await paymentAPI.getPaymentEvents(paymentId);
+          console.log('📜 Eventos:', eventsRes.data);
+          setState(prev => ({ ...prev, events: eventsRes.data }));
+        } catch (error) {
+          console.error('❌ Erro ao carregar eventos:', error);
         }
-      } catch (error) {
-        console.error('❌ Erro no polling:', error);
       }
-    }, 1500);
+    });
 
-    return () => {
-      if (pollingIntervalRef.current) {
-        clearInterval(pollingIntervalRef.current);
-        pollingIntervalRef.current = null;
-      }
+    stream.onerror = () => {
+      console.warn('⚠️ Conexão SSE interrompida, o navegador tentará reconectar');
     };
+
+    return () => stream.close();
   }, [state.payment?.id, state.payment?.status]);
 
   const createPayment = useCallback(async (data: {
@@ -0,0 +1,124 @@
+package com.banking.merchantservice.config;
+
+import com.banking.core.concurrent.KeyOrderedExecutor;
+import com.banking.core.dedupe.EventDeduplicator;
+import com.banking.core.dedupe.JdbcProcessedEventLog;
+import com.banking.core.dedupe.ProcessedEventLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@EnableScheduling
+public class MerchantConfig {
+    private static final String PAYMENT_PROCESSED = "payment-processed";
+    private static final String DEAD_LETTER_SUFFIX = "-merchant-dlt";
+    private static final String REDRIVE_SUFFIX = "-merchant-retry-0";
+
+    @Bean
+    public JdbcProcessedEventLog processedEventLog(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${kafka.dedupe.retention-hours:168}") long retentionHours
+    ) {
+        return new JdbcProcessedEventLog(jdbcTemplate, "merchant_processed_events", Duration.ofHours(retentionHours));
+    }
+
+    @Bean
+    public EventDeduplicator eventDeduplicator(
+            ProcessedEventLog processedEventLog,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.dedupe.recent-events:1000000}") int recentEvents,
+            @Value("${kafka.dedupe.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        EventDeduplicator deduplicator = new EventDeduplicator(processedEventLog, recentEvents, falsePositiveRate);
+        FunctionCounter.builder("kafka.listener.duplicates", deduplicator, EventDeduplicator::duplicates)
+                .description("Redelivered events skipped because they were already processed")
+                .register(meterRegistry);
+        FunctionCounter.builder("kafka.listener.dedupe.lookups", deduplicator, EventDeduplicator::lookups)
+                .description("Event ids checked against the processed-events table after a bloom filter hit")
+                .register(meterRegistry);
+        return deduplicator;
+    }
+
+    // batch listeners cannot use retry topics, so a failing batch is retried in place with a short exponential
+    // back-off and then each of its records is dead-lettered
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(
+            ProducerFactory<?, ?> producerFactory,
+            @Value("${kafka.retry.attempts:3}") int attempts,
+            @Value("${kafka.retry.delay-ms:500}") long delayMs,
+            @Value("${kafka.retry.multiplier:4}") double multiplier,
+            @Value("${kafka.retry.max-delay-ms:5000}") long maxDelayMs
+    ) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(
+                deadLetterTemplate(producerFactory),
+                (record, e) -> new TopicPartition(PAYMENT_PROCESSED + DEAD_LETTER_SUFFIX, -1)
+        );
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(attempts - 1);
+        backOff.setInitialInterval(delayMs);
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxDelayMs);
+        return new DefaultErrorHandler(recoverer, backOff);
+    }
+
+    // log-compacted: the broker keeps at least the latest record per merchant id, so a reader that starts from the
+    // beginning ends up with the whole directory without the topic growing with every balance change
+    @Bean
+    public NewTopic merchantDirectoryTopic(
+            @Value("${kafka.topics.merchant-directory:merchant-directory}") String topic,
+            @Value("${kafka.topics.partitions:6}") int partitions
+    ) {
+        return TopicBuilder.name(topic).partitions(partitions).replicas(1).compact().build();
+    }
+
+    @Bean
+    public KeyOrderedExecutor directoryExecutor(@Value("${merchant.directory.max-attempts:3}") int maxAttempts) {
+        return new KeyOrderedExecutor("merchant-directory", maxAttempts);
+    }
+
+    @Bean
+    public NewTopic paymentProcessedDeadLetterTopic() {
+        return TopicBuilder.name(PAYMENT_PROCESSED + DEAD_LETTER_SUFFIX).partitions(1).replicas(1).build();
+    }
+
+    // the batch listener has no retry tiers; this topic, named like the first tier of the other groups, is where
+    // redriven dead letters come back to this group alone instead of through the shared payment-processed topic
+    @Bean
+    public NewTopic paymentProcessedRedriveTopic(@Value("${kafka.topics.partitions:6}") int partitions) {
+        return TopicBuilder.name(PAYMENT_PROCESSED + REDRIVE_SUFFIX).partitions(partitions).replicas(1).build();
+    }
+
+    // a record that could not be deserialized is forwarded as its raw bytes, everything else as JSON
+    private static KafkaTemplate<String, Object> deadLetterTemplate(ProducerFactory<?, ?> producerFactory) {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, new JsonSerializer<>());
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(),
+                new StringSerializer(),
+                new DelegatingByTypeSerializer(delegates, true)
+        ));
+    }
+}
@@ -3,16 +3,22 @@ package com.banking.merchantservice.controller;
 import com.banking.merchantservice.dto.MerchantDto;
 import java.math.BigDecimal;
 import com.banking.merchantservice.model.Merchant;
+import com.banking.merchantservice.model.MerchantBalanceReplay;
+import com.banking.merchantservice.model.MerchantCacheStats;
+import com.banking.merchantservice.model.MerchantEventCursor;
 import com.banking.merchantservice.model.MerchantEventEntity;
+import com.banking.merchantservice.model.MerchantEventPage;
 import com.banking.merchantservice.service.MerchantService;
-import com.banking.merchantservice.service.MerchantEventStore;
+import com.banking.merchantservice.service.MerchantSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,10 +26,12 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/merchants")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "X-Next-Cursor")
 public class MerchantController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MerchantService merchantService;
-    private final MerchantEventStore merchantEventStore;
+    private final MerchantSnapshotService merchantSnapshotService;
 
     @PostMapping
     public ResponseEntity<Merchant> registerMerchant(@RequestBody MerchantDto request) {
@@ -43,6 +51,11 @@ public class MerchantController {
         return ResponseEntity.ok(merchants);
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<MerchantCacheStats> getCacheStats() {
+        return ResponseEntity.ok(merchantService.getCacheStats());
+    }
+
     @GetMapping("/{merchantId}/balance")
     public ResponseEntity<MerchantBalance> getMerchantBalance(@PathVariable UUID merchantId) {
         Merchant merchant = merchantService.getMerchant(merchantId);
@@ -53,9 +66,29 @@ public class MerchantController {
     }
 
     @GetMapping("/{merchantId}/events")
-    public ResponseEntity<List<MerchantEventEntity>> getMerchantHistory(@PathVariable UUID merchantId) {
-        List<MerchantEventEntity> events = merchantEventStore.getMerchantHistory(merchantId);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<MerchantEventEntity>> getMerchantHistory(
+            @PathVariable UUID merchantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        MerchantEventCursor cursor = before != null ? MerchantEventCursor.parse(before) : null;
+        MerchantEventPage page = merchantService.getMerchantHistory(merchantId, from, to, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping("/{merchantId}/replay")
+    public ResponseEntity<MerchantBalanceReplay> replayBalance(
+            @PathVariable UUID merchantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf
+    ) {
+        return ResponseEntity.ok(merchantSnapshotService.replay(merchantId, asOf));
     }
 
     @PostMapping("/{merchantId}/debit")
@@ -1,42 +1,48 @@
 package com.banking.merchantservice.listener;
 
 import com.banking.core.event.PaymentProcessedEvent;
-import com.banking.merchantservice.service.MerchantService;
+import com.banking.merchantservice.service.PaymentSettlementService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentEventListener {
-    private final MerchantService merchantService;
+    private final PaymentSettlementService paymentSettlementService;
 
     @KafkaListener(
-            topics = "payment-processed",
-            groupId = "merchant-service-group"
+            topics = {"payment-processed", "payment-processed-merchant-retry-0"},
+            groupId = "merchant-service-group",
+            batch = "true"
     )
-    @Transactional
-    public void handlePaymentProcessed(PaymentProcessedEvent event) {
-        log.info("💰 [MERCHANT] Recebido PaymentProcessedEvent: paymentId={}, payerId={}, payeeId={}, amount={}, status={}",
-                event.getPaymentId(), event.getPayerId(), event.getPayeeId(), event.getAmount(), event.getStatus());
+    public void handlePaymentProcessed(List<PaymentProcessedEvent> events) {
+        log.info("💰 [MERCHANT] Recebidos {} PaymentProcessedEvents", events.size());
 
-        try {
-            if ("APPROVED".equals(event.getStatus())) {
-                merchantService.debitPayer(event.getPayerId(), event.getAmount());
-
-                merchantService.processReceivedPayment(event.getPayeeId(), event.getAmount());
+        int unreadable = firstUnreadable(events);
+        if (unreadable < 0) {
+            paymentSettlementService.settle(events);
+            return;
+        }
 
+        // settle what came before the record that failed to deserialize; the error handler commits those
+        // offsets and dead-letters the failed record instead of stalling the partition on it
+        paymentSettlementService.settle(events.subList(0, unreadable));
+        throw new BatchListenerFailedException("Unreadable payment-processed record", unreadable);
+    }
 
-            } else if ("REJECTED".equals(event.getStatus())) {
-                log.info("⚠️ Pagamento {} foi rejeitado: {}", event.getPaymentId(), event.getDescription());
+    // records that failed deserialization arrive as KafkaNull placeholders in the batch
+    private static int firstUnreadable(List<?> events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (!(events.get(i) instanceof PaymentProcessedEvent)) {
+                return i;
             }
-        } catch (Exception e) {
-            log.error("❌ Erro ao processar pagamento {}: {}", event.getPaymentId(), e.getMessage(), e);
         }
+        return -1;
     }
 }
@@ -0,0 +1,31 @@
+package com.banking.merchantservice.mapper;
+
+import com.banking.core.id.TimeOrderedUuid;
+import com.banking.merchantservice.model.MerchantEventCursor;
+import com.banking.merchantservice.model.MerchantSnapshot;
+import com.banking.merchantservice.model.MerchantSnapshotEntity;
+
+public class MerchantSnapshotMapper {
+
+    public static MerchantSnapshotEntity toEntity(MerchantSnapshot snapshot) {
+        return MerchantSnapshotEntity.builder()
+                .id(TimeOrderedUuid.next())
+                .merchantId(snapshot.merchantId())
+                .balance(snapshot.balance())
+                .eventCount(snapshot.eventCount())
+                .lastEventDateTime(snapshot.lastEvent().eventDateTime())
+                .lastEventId(snapshot.lastEvent().id())
+                .build();
+    }
+
+    public static MerchantSnapshot toDomain(MerchantSnapshotEntity entity) {
+        if (entity == null) return null;
+
+        return new MerchantSnapshot(
+                entity.getMerchantId(),
+                entity.getBalance(),
+                entity.getEventCount(),
+                new MerchantEventCursor(entity.getLastEventDateTime(), entity.getLastEventId())
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.banking.merchantservice.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record BalanceChange(
+        UUID merchantId,
+        BigDecimal amount,
+        BigDecimal newBalance
+) {}
@@ -1,5 +1,6 @@
 package com.banking.merchantservice.model;
 
+import com.banking.core.id.TimeOrderedUuid;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -35,7 +36,7 @@ public class Merchant {
     }
 
     public void initialize(BigDecimal initialBalance) {
-        this.id = UUID.randomUUID();
+        this.id = TimeOrderedUuid.next();
         this.balance = initialBalance;
     }
 }
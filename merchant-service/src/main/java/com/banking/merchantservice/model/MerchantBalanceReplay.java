@@ -0,0 +1,14 @@
+package com.banking.merchantservice.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record MerchantBalanceReplay(
+        UUID merchantId,
+        BigDecimal balance,
+        LocalDateTime asOf,
+        LocalDateTime snapshotAt,
+        long eventsReplayed
+) {
+}
@@ -0,0 +1,12 @@
+package com.banking.merchantservice.model;
+
+public record MerchantCacheStats(
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions,
+        long lookupHits,
+        long lookupMisses
+) {
+}
@@ -0,0 +1,6 @@
+package com.banking.merchantservice.model;
+
+import java.util.UUID;
+
+public record MerchantChanged(UUID merchantId) {
+}
@@ -0,0 +1,37 @@
+package com.banking.merchantservice.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+public record MerchantEventCursor(LocalDateTime eventDateTime, UUID id) {
+    public static final MerchantEventCursor START = new MerchantEventCursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0));
+
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+    private static final char SEPARATOR = '_';
+
+    public static MerchantEventCursor before(LocalDateTime eventDateTime) {
+        return new MerchantEventCursor(eventDateTime, MAX_ID);
+    }
+
+    public static MerchantEventCursor parse(String value) {
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid event cursor: " + value);
+        }
+
+        try {
+            return new MerchantEventCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid event cursor: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return eventDateTime.toString() + SEPARATOR + id;
+    }
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "merchant_events")
+@Table(name = "merchant_events", indexes = {
+        @Index(name = "idx_merchant_events_cursor", columnList = "merchant_id, event_date_time, id"),
+        @Index(name = "idx_merchant_events_date_time", columnList = "event_date_time"),
+        @Index(name = "idx_merchant_events_type", columnList = "event_type, event_date_time")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,6 @@
+package com.banking.merchantservice.model;
+
+import java.util.List;
+
+public record MerchantEventPage(List<MerchantEventEntity> items, MerchantEventCursor nextCursor) {
+}
@@ -0,0 +1,6 @@
+package com.banking.merchantservice.model;
+
+import java.math.BigDecimal;
+
+public record MerchantEventTotals(BigDecimal balanceChange, long eventCount) {
+}
@@ -0,0 +1,7 @@
+package com.banking.merchantservice.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record MerchantSnapshot(UUID merchantId, BigDecimal balance, long eventCount, MerchantEventCursor lastEvent) {
+}
@@ -0,0 +1,50 @@
+package com.banking.merchantservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "merchant_snapshots", indexes = {
+        @Index(name = "idx_merchant_snapshots_cursor", columnList = "merchant_id, last_event_date_time, last_event_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantSnapshotEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID merchantId;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private long eventCount;
+
+    @Column(nullable = false, columnDefinition = "TIMESTAMP")
+    private LocalDateTime lastEventDateTime;
+
+    @Column(nullable = false)
+    private UUID lastEventId;
+
+    @Column(nullable = false, columnDefinition = "TIMESTAMP")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -1,14 +1,65 @@
 package com.banking.merchantservice.repository;
 
 import com.banking.merchantservice.model.MerchantEventEntity;
+import com.banking.merchantservice.model.MerchantEventTotals;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface MerchantEventRepository extends JpaRepository<MerchantEventEntity, UUID> {
-    List<MerchantEventEntity> findByMerchantId(UUID merchantId);
-    List<MerchantEventEntity> findByEventType(String eventType);
+    List<MerchantEventEntity> findByMerchantIdOrderByEventDateTime(UUID merchantId);
+    List<MerchantEventEntity> findByEventTypeOrderByEventDateTime(String eventType);
+
+    @Query("""
+            select e from MerchantEventEntity e
+            where e.merchantId = :merchantId
+              and e.eventDateTime >= :from
+              and (e.eventDateTime < :beforeTime or (e.eventDateTime = :beforeTime and e.id < :beforeId))
+            order by e.eventDateTime desc, e.id desc
+            """)
+    List<MerchantEventEntity> findHistoryPage(
+            @Param("merchantId") UUID merchantId,
+            @Param("from") LocalDateTime from,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") UUID beforeId,
+            Limit limit
+    );
+
+    @Query("""
+            select new com.banking.merchantservice.model.MerchantEventTotals(coalesce(sum(e.balanceChange), 0), count(e))
+            from MerchantEventEntity e
+            where e.merchantId = :merchantId
+              and (e.eventDateTime > :afterTime or (e.eventDateTime = :afterTime and e.id > :afterId))
+              and e.eventDateTime < :until
+            """)
+    MerchantEventTotals sumBalanceChanges(
+            @Param("merchantId") UUID merchantId,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            @Param("until") LocalDateTime until
+    );
+
+    @Query("""
+            select e from MerchantEventEntity e
+            where e.merchantId = :merchantId and e.eventDateTime < :until
+            order by e.eventDateTime desc, e.id desc
+            """)
+    List<MerchantEventEntity> findLatestBefore(
+            @Param("merchantId") UUID merchantId,
+            @Param("until") LocalDateTime until,
+            Limit limit
+    );
+
+    @Query("""
+            select distinct e.merchantId from MerchantEventEntity e
+            where e.eventDateTime >= :from and e.eventDateTime < :until
+            """)
+    List<UUID> findActiveMerchantIds(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
 }
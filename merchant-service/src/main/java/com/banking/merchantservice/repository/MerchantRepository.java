@@ -1,10 +1,18 @@
 package com.banking.merchantservice.repository;
 
 import com.banking.merchantservice.model.MerchantEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -12,4 +20,17 @@ public interface MerchantRepository extends JpaRepository<MerchantEntity, UUID>
     Optional<MerchantEntity> findByEmail(String email);
     Optional<MerchantEntity> findByName(String name);
     Optional<MerchantEntity> findByPhone(String phone);
+
+    List<MerchantEntity> findByIdGreaterThanOrderById(UUID id, Limit limit);
+
+    @Query("select m.id from MerchantEntity m where m.id in :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Query(value = """
+            UPDATE merchants SET balance = balance + :delta
+            WHERE id = :id AND balance + :delta >= 0
+            RETURNING balance
+            """, nativeQuery = true)
+    Optional<BigDecimal> applyBalanceDelta(@Param("id") UUID id, @Param("delta") BigDecimal delta);
 }
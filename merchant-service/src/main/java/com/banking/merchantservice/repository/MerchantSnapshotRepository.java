@@ -0,0 +1,27 @@
+package com.banking.merchantservice.repository;
+
+import com.banking.merchantservice.model.MerchantSnapshotEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MerchantSnapshotRepository extends JpaRepository<MerchantSnapshotEntity, UUID> {
+
+    @Query("""
+            select s from MerchantSnapshotEntity s
+            where s.merchantId = :merchantId and s.lastEventDateTime < :until
+            order by s.lastEventDateTime desc, s.lastEventId desc
+            """)
+    List<MerchantSnapshotEntity> findLatestBefore(
+            @Param("merchantId") UUID merchantId,
+            @Param("until") LocalDateTime until,
+            Limit limit
+    );
+}
@@ -0,0 +1,112 @@
+package com.banking.merchantservice.service;
+
+import com.banking.merchantservice.mapper.MerchantMapper;
+import com.banking.merchantservice.model.Merchant;
+import com.banking.merchantservice.model.MerchantCacheStats;
+import com.banking.merchantservice.model.MerchantChanged;
+import com.banking.merchantservice.model.MerchantEntity;
+import com.banking.merchantservice.repository.MerchantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class MerchantCache {
+    private final MerchantRepository merchantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<UUID, Merchant> merchantsById;
+    private final Cache<String, UUID> idsByEmail;
+    private final Cache<String, UUID> idsByPhone;
+
+    public MerchantCache(
+            MerchantRepository merchantRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${merchant.cache.maximum-size:10000}") long maximumSize,
+            @Value("${merchant.cache.ttl-ms:30000}") long ttlMs
+    ) {
+        this.merchantRepository = merchantRepository;
+        this.eventPublisher = eventPublisher;
+        this.merchantsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        // email and phone never change after registration, so these only map to the id and need no TTL;
+        // the merchant itself is always loaded through merchantsById so evict() covers every lookup path
+        this.idsByEmail = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.idsByPhone = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, merchantsById, "merchants-by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "merchant-ids-by-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByPhone, "merchant-ids-by-phone");
+    }
+
+    public Optional<Merchant> findById(UUID merchantId) {
+        Merchant merchant = merchantsById.get(merchantId, id -> merchantRepository.findById(id)
+                .map(MerchantMapper::toDomain)
+                .orElse(null));
+        return Optional.ofNullable(merchant).map(MerchantCache::copy);
+    }
+
+    public Optional<Merchant> findByEmail(String email) {
+        UUID merchantId = idsByEmail.get(email, key -> merchantRepository.findByEmail(key)
+                .map(MerchantEntity::getId)
+                .orElse(null));
+        return merchantId != null ? findById(merchantId) : Optional.empty();
+    }
+
+    public Optional<Merchant> findByPhone(String phone) {
+        UUID merchantId = idsByPhone.get(phone, key -> merchantRepository.findByPhone(key)
+                .map(MerchantEntity::getId)
+                .orElse(null));
+        return merchantId != null ? findById(merchantId) : Optional.empty();
+    }
+
+    public void evict(UUID merchantId) {
+        merchantsById.invalidate(merchantId);
+        // a reader may reload the pre-commit row before this transaction commits, so evict again afterwards
+        eventPublisher.publishEvent(new MerchantChanged(merchantId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onMerchantChanged(MerchantChanged event) {
+        merchantsById.invalidate(event.merchantId());
+    }
+
+    public MerchantCacheStats stats() {
+        CacheStats byId = merchantsById.stats();
+        CacheStats byLookup = idsByEmail.stats().plus(idsByPhone.stats());
+        return new MerchantCacheStats(
+                merchantsById.estimatedSize(),
+                byId.hitCount(),
+                byId.missCount(),
+                byId.hitRate(),
+                byId.evictionCount(),
+                byLookup.hitCount(),
+                byLookup.missCount()
+        );
+    }
+
+    private static Merchant copy(Merchant merchant) {
+        return new Merchant(
+                merchant.getId(),
+                merchant.getName(),
+                merchant.getEmail(),
+                merchant.getPhone(),
+                merchant.getBalance(),
+                merchant.getCurrency()
+        );
+    }
+}
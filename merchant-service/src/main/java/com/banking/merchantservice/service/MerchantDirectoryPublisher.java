@@ -0,0 +1,126 @@
+package com.banking.merchantservice.service;
+
+import com.banking.core.concurrent.KeyOrderedExecutor;
+import com.banking.core.event.MerchantUpdatedEvent;
+import com.banking.core.id.TimeOrderedUuid;
+import com.banking.merchantservice.model.MerchantChanged;
+import com.banking.merchantservice.model.MerchantEntity;
+import com.banking.merchantservice.repository.MerchantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes each merchant's committed balance to the compacted directory topic, keyed by merchant id,
+ * so payment-service can pre-validate payments from a local copy.
+ */
+@Service
+@Slf4j
+public class MerchantDirectoryPublisher {
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final MerchantRepository merchantRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KeyOrderedExecutor directoryExecutor;
+    private final String topic;
+    private final boolean publishOnStartup;
+    private final int pageSize;
+    private final long sendTimeoutMs;
+
+    public MerchantDirectoryPublisher(
+            MerchantRepository merchantRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            KeyOrderedExecutor directoryExecutor,
+            @Value("${kafka.topics.merchant-directory:merchant-directory}") String topic,
+            @Value("${merchant.directory.publish-on-startup:true}") boolean publishOnStartup,
+            @Value("${merchant.directory.page-size:500}") int pageSize,
+            @Value("${merchant.directory.send-timeout-ms:10000}") long sendTimeoutMs
+    ) {
+        this.merchantRepository = merchantRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.directoryExecutor = directoryExecutor;
+        this.topic = topic;
+        this.publishOnStartup = publishOnStartup;
+        this.pageSize = pageSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    // every balance change and registration already evicts the cache through MerchantChanged
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMerchantChanged(MerchantChanged event) {
+        UUID merchantId = event.merchantId();
+        // the row is read inside the merchant's task, not when the change happened: two commits racing for the same
+        // merchant then publish in task order, and the last record always carries the latest committed balance
+        publish(merchantId, () -> merchantRepository.findById(merchantId).ifPresent(this::send));
+    }
+
+    // rewrites every merchant once so the topic is complete even if it was created after the merchants; rows are read
+    // a page per query, and a page is only read once the previous one is on the broker
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishAll() {
+        if (!publishOnStartup) {
+            return;
+        }
+        int published = 0;
+        UUID after = FIRST_ID;
+        List<MerchantEntity> page;
+        do {
+            page = merchantRepository.findByIdGreaterThanOrderById(after, Limit.of(pageSize));
+            // queued right after the read, so a change committed since then is published by its own task, after this one
+            CompletableFuture.allOf(page.stream()
+                    .map(merchant -> publish(merchant.getId(), () -> send(merchant)))
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+            published += page.size();
+            if (!page.isEmpty()) {
+                after = page.getLast().getId();
+            }
+        } while (page.size() == pageSize);
+        log.info("📒 Diretório de merchants: {} merchants republicados em {}", published, topic);
+    }
+
+    // completes normally either way; a send that still fails after the executor's retries is only logged
+    private CompletableFuture<Void> publish(UUID merchantId, Runnable task) {
+        return directoryExecutor.submit(merchantId, task)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        log.error("❌ Falha ao publicar merchant {} no diretório", merchantId, error);
+                    }
+                    return null;
+                });
+    }
+
+    // waits for the broker, so a failed send fails the task and the executor retries it
+    private void send(MerchantEntity merchant) {
+        try {
+            kafkaTemplate.send(topic, merchant.getId().toString(), MerchantUpdatedEvent.builder()
+                            .eventId(TimeOrderedUuid.next())
+                            .eventDateTime(LocalDateTime.now())
+                            .merchantId(merchant.getId())
+                            .balance(merchant.getBalance())
+                            .currency(merchant.getCurrency())
+                            .build())
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while publishing merchant " + merchant.getId(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Kafka did not acknowledge merchant " + merchant.getId(), e);
+        }
+    }
+}
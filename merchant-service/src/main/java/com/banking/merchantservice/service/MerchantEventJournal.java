@@ -0,0 +1,109 @@
+package com.banking.merchantservice.service;
+
+import com.banking.core.journal.GroupCommitJournal;
+import com.banking.merchantservice.model.MerchantEventEntity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+@Service
+@Slf4j
+public class MerchantEventJournal {
+    private static final String INSERT_EVENT = """
+            INSERT INTO merchant_events
+                (id, merchant_id, balance_change, new_balance, event_type, description, event_date_time, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final GroupCommitJournal<MerchantEventEntity> journal;
+    private final Timer transactionalAppends;
+    private final Timer groupCommitAppends;
+    private final DistributionSummary batchSizes;
+
+    public MerchantEventJournal(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${merchant.journal.window-ms:2}") long windowMs,
+            @Value("${merchant.journal.max-batch-size:500}") int maxBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new GroupCommitJournal<>("merchant-events", this::writeBatch, Duration.ofMillis(windowMs), maxBatchSize);
+        this.transactionalAppends = meterRegistry.timer("event.store.append", "store", "merchant", "mode", "transactional");
+        this.groupCommitAppends = meterRegistry.timer("event.store.append", "store", "merchant", "mode", "group-commit");
+        this.batchSizes = meterRegistry.summary("event.store.batch.size", "store", "merchant");
+    }
+
+    public void append(MerchantEventEntity event) {
+        append(List.of(event));
+    }
+
+    public void append(List<MerchantEventEntity> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        // balance updates and their events must commit together, otherwise replay drifts from the stored balance
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionalAppends.record(() -> {
+                entityManager.flush();
+                insert(events);
+            });
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            journal.append(events).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to append merchant events", e);
+        } finally {
+            sample.stop(groupCommitAppends);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+
+    private void writeBatch(List<MerchantEventEntity> events) {
+        batchSizes.record(events.size());
+        transactionTemplate.executeWithoutResult(status -> insert(events));
+        log.debug("Journal gravou {} eventos de merchant", events.size());
+    }
+
+    private void insert(List<MerchantEventEntity> events) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getId());
+            ps.setObject(2, event.getMerchantId());
+            ps.setBigDecimal(3, event.getBalanceChange());
+            ps.setBigDecimal(4, event.getNewBalance());
+            ps.setString(5, event.getEventType());
+            ps.setString(6, event.getDescription());
+            ps.setObject(7, event.getEventDateTime());
+            ps.setObject(8, event.getCreatedAt() != null ? event.getCreatedAt() : now);
+        });
+    }
+}
@@ -1,31 +1,48 @@
 package com.banking.merchantservice.service;
 
+import com.banking.core.id.TimeOrderedUuid;
+import com.banking.merchantservice.mapper.MerchantSnapshotMapper;
+import com.banking.merchantservice.model.BalanceChange;
+import com.banking.merchantservice.model.MerchantEventCursor;
 import com.banking.merchantservice.model.MerchantEventEntity;
+import com.banking.merchantservice.model.MerchantEventPage;
+import com.banking.merchantservice.model.MerchantEventTotals;
+import com.banking.merchantservice.model.MerchantSnapshot;
 import com.banking.merchantservice.repository.MerchantEventRepository;
+import com.banking.merchantservice.repository.MerchantSnapshotRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MerchantEventStore {
+    private static final String PAYMENT_RECEIVED = "PAYMENT_RECEIVED";
+    private static final String PAYMENT_DEBITED = "PAYMENT_DEBITED";
+    private static final String PAYMENT_RECEIVED_DESCRIPTION = "Payment received from customer";
+    private static final String PAYMENT_DEBITED_DESCRIPTION = "Payment debited from payer account";
 
     private final MerchantEventRepository merchantEventRepository;
+    private final MerchantSnapshotRepository merchantSnapshotRepository;
+    private final MerchantEventJournal merchantEventJournal;
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void saveMerchantRegisteredEvent(
             UUID merchantId,
             BigDecimal initialBalance) {
 
         MerchantEventEntity event = MerchantEventEntity.builder()
-                .id(UUID.randomUUID())
+                .id(TimeOrderedUuid.next())
                 .merchantId(merchantId)
                 .balanceChange(initialBalance)
                 .newBalance(initialBalance)
@@ -34,44 +51,88 @@ public class MerchantEventStore {
                 .eventDateTime(LocalDateTime.now())
                 .build();
 
-        merchantEventRepository.save(event);
+        merchantEventJournal.append(event);
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void savePaymentReceivedEvent(
             UUID merchantId,
             BigDecimal amount,
             BigDecimal newBalance) {
 
-        MerchantEventEntity event = MerchantEventEntity.builder()
-                .id(UUID.randomUUID())
-                .merchantId(merchantId)
-                .balanceChange(amount)
-                .newBalance(newBalance)
-                .eventType("PAYMENT_RECEIVED")
-                .description("Payment received from customer")
-                .eventDateTime(LocalDateTime.now())
-                .build();
-
-        merchantEventRepository.save(event);
+        merchantEventJournal.append(balanceEvent(
+                new BalanceChange(merchantId, amount, newBalance), PAYMENT_RECEIVED, PAYMENT_RECEIVED_DESCRIPTION
+        ));
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void savePaymentDebitedEvent(UUID merchantId, BigDecimal amountChange, BigDecimal newBalance) {
-        MerchantEventEntity event = MerchantEventEntity.builder()
-                .id(UUID.randomUUID())
-                .merchantId(merchantId)
-                .balanceChange(amountChange)
-                .newBalance(newBalance)
-                .eventType("PAYMENT_DEBITED")
-                .description("Payment debited from payer account")
-                .eventDateTime(LocalDateTime.now())
-                .build();
+        merchantEventJournal.append(balanceEvent(
+                new BalanceChange(merchantId, amountChange, newBalance), PAYMENT_DEBITED, PAYMENT_DEBITED_DESCRIPTION
+        ));
+    }
 
-        merchantEventRepository.save(event);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void savePaymentReceivedEvents(List<BalanceChange> changes) {
+        merchantEventJournal.append(changes.stream()
+                .map(change -> balanceEvent(change, PAYMENT_RECEIVED, PAYMENT_RECEIVED_DESCRIPTION))
+                .toList());
     }
 
-    public List<MerchantEventEntity> getMerchantHistory(UUID merchantId) {
-        return merchantEventRepository.findByMerchantId(merchantId);
+    @Transactional(readOnly = true)
+    public MerchantEventPage getMerchantHistory(
+            UUID merchantId,
+            LocalDateTime from,
+            MerchantEventCursor before,
+            int limit
+    ) {
+        List<MerchantEventEntity> rows = merchantEventRepository.findHistoryPage(
+                merchantId, from, before.eventDateTime(), before.id(), Limit.of(limit + 1)
+        );
+
+        if (rows.size() <= limit) {
+            return new MerchantEventPage(rows, null);
+        }
+
+        List<MerchantEventEntity> items = rows.subList(0, limit);
+        MerchantEventEntity last = items.getLast();
+        return new MerchantEventPage(items, new MerchantEventCursor(last.getEventDateTime(), last.getId()));
+    }
+
+    public MerchantEventTotals getBalanceChangesAfter(UUID merchantId, MerchantEventCursor after, LocalDateTime until) {
+        return merchantEventRepository.sumBalanceChanges(merchantId, after.eventDateTime(), after.id(), until);
+    }
+
+    public Optional<MerchantEventCursor> findLastEventBefore(UUID merchantId, LocalDateTime until) {
+        return merchantEventRepository.findLatestBefore(merchantId, until, Limit.of(1)).stream()
+                .findFirst()
+                .map(event -> new MerchantEventCursor(event.getEventDateTime(), event.getId()));
+    }
+
+    public List<UUID> findActiveMerchants(LocalDateTime from, LocalDateTime until) {
+        return merchantEventRepository.findActiveMerchantIds(from, until);
+    }
+
+    public Optional<MerchantSnapshot> findLatestSnapshot(UUID merchantId, LocalDateTime until) {
+        return merchantSnapshotRepository.findLatestBefore(merchantId, until, Limit.of(1)).stream()
+                .findFirst()
+                .map(MerchantSnapshotMapper::toDomain);
+    }
+
+    @Transactional
+    public void saveSnapshot(MerchantSnapshot snapshot) {
+        merchantSnapshotRepository.save(MerchantSnapshotMapper.toEntity(snapshot));
+    }
+
+    private MerchantEventEntity balanceEvent(BalanceChange change, String eventType, String description) {
+        return MerchantEventEntity.builder()
+                .id(TimeOrderedUuid.next())
+                .merchantId(change.merchantId())
+                .balanceChange(change.amount())
+                .newBalance(change.newBalance())
+                .eventType(eventType)
+                .description(description)
+                .eventDateTime(LocalDateTime.now())
+                .build();
     }
 }
@@ -4,6 +4,9 @@ import com.banking.merchantservice.dto.MerchantDto;
 import com.banking.merchantservice.exception.MerchantNotFoundException;
 import com.banking.merchantservice.mapper.MerchantMapper;
 import com.banking.merchantservice.model.Merchant;
+import com.banking.merchantservice.model.MerchantCacheStats;
+import com.banking.merchantservice.model.MerchantEventCursor;
+import com.banking.merchantservice.model.MerchantEventPage;
 import com.banking.merchantservice.model.MerchantEntity;
 import com.banking.merchantservice.repository.MerchantRepository;
 import jakarta.persistence.EntityManager;
@@ -13,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,8 +24,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 public class MerchantService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     private final MerchantRepository merchantRepository;
     private final MerchantEventStore merchantEventStore;
+    private final MerchantCache merchantCache;
     private final EntityManager entityManager;
 
     @Transactional
@@ -37,19 +44,18 @@ public class MerchantService {
         merchantEntity = merchantRepository.save(merchantEntity);
 
         merchantEventStore.saveMerchantRegisteredEvent(merchantEntity.getId(), merchantEntity.getBalance());
+        merchantCache.evict(merchantEntity.getId());
 
         return MerchantMapper.toDomain(merchantEntity);
     }
 
     public Merchant getMerchant(UUID merchantId) {
-        return merchantRepository.findById(merchantId)
-                .map(MerchantMapper::toDomain)
+        return merchantCache.findById(merchantId)
                 .orElseThrow(() -> new MerchantNotFoundException("Merchant not found with id: " + merchantId));
     }
 
     public Merchant getMerchantByEmail(String email) {
-        return merchantRepository.findByEmail(email)
-                .map(MerchantMapper::toDomain)
+        return merchantCache.findByEmail(email)
                 .orElseThrow(() -> new MerchantNotFoundException("Merchant not found with email: " + email));
     }
 
@@ -62,46 +68,62 @@ public class MerchantService {
     }
 
     public Merchant getMerchantByPhone(String phone) {
-        return merchantRepository.findByPhone(phone)
-                .map(MerchantMapper::toDomain)
+        return merchantCache.findByPhone(phone)
                 .orElseThrow(() -> new MerchantNotFoundException("Merchant not found with phone: " + phone));
     }
 
-    @Transactional
-    public void processReceivedPayment(UUID payeeId, java.math.BigDecimal amount) {
-
-        MerchantEntity merchantEntity = merchantRepository.findById(payeeId)
-                .orElseThrow(() -> new MerchantNotFoundException("Merchant not found with id: " + payeeId));
+    public MerchantCacheStats getCacheStats() {
+        return merchantCache.stats();
+    }
 
-        Merchant merchant = MerchantMapper.toDomain(merchantEntity);
-        merchant.receivePayment(amount);
+    public MerchantEventPage getMerchantHistory(
+            UUID merchantId,
+            LocalDateTime from,
+            LocalDateTime to,
+            MerchantEventCursor before,
+            int limit
+    ) {
+        int pageSize = Math.clamp(limit, 1, MAX_HISTORY_PAGE_SIZE);
+        MerchantEventCursor upperBound = MerchantEventCursor.before(to != null ? to : LocalDateTime.now().plusSeconds(1));
+        if (before != null && before.eventDateTime().isBefore(upperBound.eventDateTime())) {
+            upperBound = before;
+        }
+
+        return merchantEventStore.getMerchantHistory(
+                merchantId,
+                from != null ? from : MerchantEventCursor.START.eventDateTime(),
+                upperBound,
+                pageSize
+        );
+    }
 
-        MerchantEntity updated = merchantRepository.save(MerchantMapper.toEntity(merchant));
+    @Transactional
+    public void processReceivedPayment(UUID payeeId, BigDecimal amount) {
+        requirePositive(amount);
 
-        merchantEventStore.savePaymentReceivedEvent(
-                payeeId,
-                amount,
-                updated.getBalance()
-        );
+        BigDecimal newBalance = merchantRepository.applyBalanceDelta(payeeId, amount)
+                .orElseThrow(() -> new MerchantNotFoundException("Merchant not found with id: " + payeeId));
+        merchantCache.evict(payeeId);
 
+        merchantEventStore.savePaymentReceivedEvent(payeeId, amount, newBalance);
     }
 
     @Transactional
     public void debitPayer(UUID payerId, BigDecimal amount) {
+        requirePositive(amount);
 
-        MerchantEntity merchantEntity = merchantRepository.findById(payerId)
-                .orElseThrow(() -> new MerchantNotFoundException("Payer merchant not found: " + payerId));
+        BigDecimal newBalance = merchantRepository.applyBalanceDelta(payerId, amount.negate())
+                .orElseThrow(() -> merchantRepository.existsById(payerId)
+                        ? new IllegalArgumentException("Insufficient balance")
+                        : new MerchantNotFoundException("Payer merchant not found: " + payerId));
+        merchantCache.evict(payerId);
 
-        Merchant merchant = MerchantMapper.toDomain(merchantEntity);
-        merchant.debitPayment(amount);
-
-        MerchantEntity updated = merchantRepository.save(MerchantMapper.toEntity(merchant));
-
-        merchantEventStore.savePaymentDebitedEvent(
-                payerId,
-                amount.negate(),
-                updated.getBalance()
-        );
+        merchantEventStore.savePaymentDebitedEvent(payerId, amount.negate(), newBalance);
+    }
 
+    private static void requirePositive(BigDecimal amount) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero");
+        }
     }
 }
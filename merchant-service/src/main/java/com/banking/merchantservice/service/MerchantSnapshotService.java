@@ -0,0 +1,109 @@
+package com.banking.merchantservice.service;
+
+import com.banking.merchantservice.exception.MerchantNotFoundException;
+import com.banking.merchantservice.model.MerchantBalanceReplay;
+import com.banking.merchantservice.model.MerchantEventCursor;
+import com.banking.merchantservice.model.MerchantEventTotals;
+import com.banking.merchantservice.model.MerchantSnapshot;
+import com.banking.merchantservice.repository.MerchantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class MerchantSnapshotService {
+    private final MerchantRepository merchantRepository;
+    private final MerchantEventStore merchantEventStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settleLag;
+
+    private LocalDateTime lastHorizon = MerchantEventCursor.START.eventDateTime();
+
+    public MerchantSnapshotService(
+            MerchantRepository merchantRepository,
+            MerchantEventStore merchantEventStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${merchant.snapshot.settle-lag-ms:60000}") long settleLagMs
+    ) {
+        this.merchantRepository = merchantRepository;
+        this.merchantEventStore = merchantEventStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleLag = Duration.ofMillis(settleLagMs);
+    }
+
+    public MerchantBalanceReplay replay(UUID merchantId, LocalDateTime asOf) {
+        if (!merchantRepository.existsById(merchantId)) {
+            throw new MerchantNotFoundException("Merchant not found with id: " + merchantId);
+        }
+
+        LocalDateTime until = asOf != null ? asOf : LocalDateTime.now();
+        return transactionTemplate.execute(status -> replayUntil(merchantId, until));
+    }
+
+    @Scheduled(
+            initialDelayString = "${merchant.snapshot.interval-ms:300000}",
+            fixedDelayString = "${merchant.snapshot.interval-ms:300000}"
+    )
+    public void snapshotActiveMerchants() {
+        LocalDateTime horizon = LocalDateTime.now().minus(settleLag);
+        List<UUID> merchantIds = merchantEventStore.findActiveMerchants(lastHorizon, horizon);
+
+        int taken = 0;
+        for (UUID merchantId : merchantIds) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> takeSnapshot(merchantId, horizon)))) {
+                    taken++;
+                }
+            } catch (Exception e) {
+                log.error("❌ Erro ao gerar snapshot do merchant {}: {}", merchantId, e.getMessage(), e);
+                return;
+            }
+        }
+
+        lastHorizon = horizon;
+        log.info("📸 [MERCHANT] {} snapshots gerados até {}", taken, horizon);
+    }
+
+    public boolean takeSnapshot(UUID merchantId, LocalDateTime horizon) {
+        Optional<MerchantEventCursor> lastEvent = merchantEventStore.findLastEventBefore(merchantId, horizon);
+        Optional<MerchantSnapshot> previous = merchantEventStore.findLatestSnapshot(merchantId, horizon);
+
+        if (lastEvent.isEmpty() || previous.map(MerchantSnapshot::lastEvent).equals(lastEvent)) {
+            return false;
+        }
+
+        MerchantBalanceReplay replay = replayFrom(previous, merchantId, horizon);
+        long eventCount = previous.map(MerchantSnapshot::eventCount).orElse(0L) + replay.eventsReplayed();
+        merchantEventStore.saveSnapshot(new MerchantSnapshot(merchantId, replay.balance(), eventCount, lastEvent.get()));
+        return true;
+    }
+
+    private MerchantBalanceReplay replayUntil(UUID merchantId, LocalDateTime until) {
+        return replayFrom(merchantEventStore.findLatestSnapshot(merchantId, until), merchantId, until);
+    }
+
+    private MerchantBalanceReplay replayFrom(Optional<MerchantSnapshot> snapshot, UUID merchantId, LocalDateTime until) {
+        MerchantEventCursor after = snapshot.map(MerchantSnapshot::lastEvent).orElse(MerchantEventCursor.START);
+        BigDecimal openingBalance = snapshot.map(MerchantSnapshot::balance).orElse(BigDecimal.ZERO);
+        MerchantEventTotals totals = merchantEventStore.getBalanceChangesAfter(merchantId, after, until);
+
+        return new MerchantBalanceReplay(
+                merchantId,
+                openingBalance.add(totals.balanceChange()),
+                until,
+                snapshot.map(s -> s.lastEvent().eventDateTime()).orElse(null),
+                totals.eventCount()
+        );
+    }
+}
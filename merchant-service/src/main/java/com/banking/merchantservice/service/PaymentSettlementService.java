@@ -0,0 +1,122 @@
+package com.banking.merchantservice.service;
+
+import com.banking.core.dedupe.EventDeduplicator;
+import com.banking.core.event.PaymentProcessedEvent;
+import com.banking.merchantservice.exception.MerchantNotFoundException;
+import com.banking.merchantservice.model.BalanceChange;
+import com.banking.merchantservice.repository.MerchantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentSettlementService {
+    private final MerchantRepository merchantRepository;
+    private final MerchantEventStore merchantEventStore;
+    private final MerchantCache merchantCache;
+    private final EventDeduplicator eventDeduplicator;
+
+    @Transactional
+    public void settle(List<PaymentProcessedEvent> events) {
+        // claimed in this transaction before any balance moves: a redelivered or concurrent copy is dropped here
+        // instead of failing the batch, and a rolled back batch gives its claims back
+        List<PaymentProcessedEvent> fresh = eventDeduplicator.claim(events, PaymentProcessedEvent::getEventId);
+        if (fresh.size() < events.size()) {
+            log.info("⏭️ [MERCHANT] {} eventos já liquidados ignorados", events.size() - fresh.size());
+        }
+
+        List<PaymentProcessedEvent> approved = new ArrayList<>();
+        for (PaymentProcessedEvent event : fresh) {
+            if ("APPROVED".equals(event.getStatus())) {
+                approved.add(event);
+            } else if ("REJECTED".equals(event.getStatus())) {
+                log.info("⚠️ Pagamento {} foi rejeitado: {}", event.getPaymentId(), event.getDescription());
+            }
+        }
+
+        List<PaymentProcessedEvent> settleable = filterSettleable(approved);
+        if (settleable.isEmpty()) {
+            return;
+        }
+
+        // the payer was already debited by the saga's synchronous /debit call; settlement only credits the payee
+        List<BalanceChange> credits = new ArrayList<>();
+        groupBy(settleable, PaymentProcessedEvent::getPayeeId)
+                .forEach((payeeId, payments) -> creditPayee(payeeId, payments, credits));
+
+        merchantEventStore.savePaymentReceivedEvents(credits);
+
+        log.info("💰 [MERCHANT] Lote liquidado: {} de {} pagamentos aprovados", settleable.size(), approved.size());
+    }
+
+    private List<PaymentProcessedEvent> filterSettleable(List<PaymentProcessedEvent> approved) {
+        List<PaymentProcessedEvent> valid = approved.stream()
+                .filter(event -> {
+                    boolean ok = event.getPayerId() != null && event.getPayeeId() != null
+                            && event.getAmount() != null && event.getAmount().compareTo(BigDecimal.ZERO) > 0;
+                    if (!ok) {
+                        log.error("❌ Erro ao processar pagamento {}: invalid payer, payee or amount", event.getPaymentId());
+                    }
+                    return ok;
+                })
+                .toList();
+
+        if (valid.isEmpty()) {
+            return valid;
+        }
+
+        Set<UUID> payeeIds = new HashSet<>();
+        valid.forEach(event -> payeeIds.add(event.getPayeeId()));
+        Set<UUID> existing = merchantRepository.findExistingIds(payeeIds);
+
+        return valid.stream()
+                .filter(event -> {
+                    boolean ok = existing.contains(event.getPayeeId());
+                    if (!ok) {
+                        log.error("❌ Erro ao processar pagamento {}: merchant not found", event.getPaymentId());
+                    }
+                    return ok;
+                })
+                .toList();
+    }
+
+    private void creditPayee(UUID payeeId, List<PaymentProcessedEvent> payments, List<BalanceChange> credits) {
+        BigDecimal total = sum(payments);
+        BigDecimal newBalance = merchantRepository.applyBalanceDelta(payeeId, total)
+                .orElseThrow(() -> new MerchantNotFoundException("Merchant not found with id: " + payeeId));
+        merchantCache.evict(payeeId);
+        credits.addAll(runningChanges(payeeId, payments, newBalance.subtract(total)));
+    }
+
+    private List<BalanceChange> runningChanges(UUID merchantId, List<PaymentProcessedEvent> payments, BigDecimal openingBalance) {
+        List<BalanceChange> changes = new ArrayList<>(payments.size());
+        BigDecimal balance = openingBalance;
+        for (PaymentProcessedEvent payment : payments) {
+            balance = balance.add(payment.getAmount());
+            changes.add(new BalanceChange(merchantId, payment.getAmount(), balance));
+        }
+        return changes;
+    }
+
+    private static BigDecimal sum(List<PaymentProcessedEvent> payments) {
+        return payments.stream()
+                .map(PaymentProcessedEvent::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static Map<UUID, List<PaymentProcessedEvent>> groupBy(
+            List<PaymentProcessedEvent> payments,
+            Function<PaymentProcessedEvent, UUID> key
+    ) {
+        Map<UUID, List<PaymentProcessedEvent>> groups = new LinkedHashMap<>();
+        payments.forEach(payment -> groups.computeIfAbsent(key.apply(payment), k -> new ArrayList<>()).add(payment));
+        return groups;
+    }
+}
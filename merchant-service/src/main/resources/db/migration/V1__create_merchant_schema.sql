@@ -0,0 +1,49 @@
+-- Merchants (estado atual)
+CREATE TABLE IF NOT EXISTS merchants (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone VARCHAR(255) NOT NULL,
+    balance NUMERIC(38, 2) NOT NULL DEFAULT 0.00,
+    currency VARCHAR(255) NOT NULL DEFAULT 'BRL'
+);
+
+-- Event store
+CREATE TABLE IF NOT EXISTS merchant_events (
+    id UUID PRIMARY KEY,
+    merchant_id UUID NOT NULL REFERENCES merchants (id),
+    balance_change NUMERIC(38, 2) NOT NULL,
+    new_balance NUMERIC(38, 2) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    event_date_time TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- histórico e somatórios por merchant (paginação por cursor event_date_time, id)
+CREATE INDEX IF NOT EXISTS idx_merchant_events_cursor ON merchant_events (merchant_id, event_date_time, id);
+-- merchants ativos numa janela de tempo
+CREATE INDEX IF NOT EXISTS idx_merchant_events_date_time ON merchant_events (event_date_time);
+-- consulta por tipo de evento
+CREATE INDEX IF NOT EXISTS idx_merchant_events_type ON merchant_events (event_type, event_date_time);
+
+-- Snapshots de saldo
+CREATE TABLE IF NOT EXISTS merchant_snapshots (
+    id UUID PRIMARY KEY,
+    merchant_id UUID NOT NULL REFERENCES merchants (id),
+    balance NUMERIC(38, 2) NOT NULL,
+    event_count BIGINT NOT NULL,
+    last_event_date_time TIMESTAMP NOT NULL,
+    last_event_id UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_merchant_snapshots_cursor ON merchant_snapshots (merchant_id, last_event_date_time, last_event_id);
+
+-- Eventos Kafka já processados (deduplicação)
+CREATE TABLE IF NOT EXISTS merchant_processed_events (
+    event_id UUID PRIMARY KEY,
+    processed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_merchant_processed_events_processed_at ON merchant_processed_events (processed_at);
@@ -0,0 +1,129 @@
+package com.banking.merchantservice;
+
+import com.banking.merchantservice.mapper.MerchantMapper;
+import com.banking.merchantservice.model.Merchant;
+import com.banking.merchantservice.model.MerchantCacheStats;
+import com.banking.merchantservice.model.MerchantChanged;
+import com.banking.merchantservice.repository.MerchantRepository;
+import com.banking.merchantservice.service.MerchantCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MerchantCacheTest {
+
+    @Mock
+    private MerchantRepository merchantRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MerchantCache merchantCache;
+
+    private final UUID merchantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        merchantCache = new MerchantCache(merchantRepository, eventPublisher, new SimpleMeterRegistry(), 100, 60_000);
+    }
+
+    private Merchant merchant(String balance) {
+        return new Merchant(merchantId, "Loja", "loja@banking.com", "11999999999", new BigDecimal(balance), "BRL");
+    }
+
+    @Test
+    @DisplayName("Should load a merchant once and serve repeated reads from the cache")
+    public void shouldServeRepeatedReadsFromCache() {
+        when(merchantRepository.findById(merchantId))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("100.00"))));
+
+        merchantCache.findById(merchantId);
+        Optional<Merchant> cached = merchantCache.findById(merchantId);
+
+        assertThat(cached).get().extracting(Merchant::getBalance).isEqualTo(new BigDecimal("100.00"));
+        verify(merchantRepository, times(1)).findById(merchantId);
+
+        MerchantCacheStats stats = merchantCache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload the merchant after it is evicted")
+    public void shouldReloadAfterEviction() {
+        when(merchantRepository.findById(merchantId))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("100.00"))))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("75.00"))));
+
+        merchantCache.findById(merchantId);
+        merchantCache.evict(merchantId);
+
+        assertThat(merchantCache.findById(merchantId)).get()
+                .extracting(Merchant::getBalance).isEqualTo(new BigDecimal("75.00"));
+    }
+
+    @Test
+    @DisplayName("Should evict again when the change is published after the transaction completes")
+    public void shouldEvictAgainAfterTransactionCompletes() {
+        when(merchantRepository.findById(merchantId))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("100.00"))))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("75.00"))));
+
+        merchantCache.evict(merchantId);
+        merchantCache.findById(merchantId);
+
+        ArgumentCaptor<MerchantChanged> changed = ArgumentCaptor.forClass(MerchantChanged.class);
+        verify(eventPublisher).publishEvent(changed.capture());
+        merchantCache.onMerchantChanged(changed.getValue());
+
+        assertThat(merchantCache.findById(merchantId)).get()
+                .extracting(Merchant::getBalance).isEqualTo(new BigDecimal("75.00"));
+    }
+
+    @Test
+    @DisplayName("Should resolve email lookups to the id once and share the cached merchant")
+    public void shouldShareCachedMerchantAcrossLookups() {
+        when(merchantRepository.findByEmail("loja@banking.com"))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("100.00"))));
+        when(merchantRepository.findById(merchantId))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("100.00"))));
+
+        merchantCache.findByEmail("loja@banking.com");
+        merchantCache.findByEmail("loja@banking.com");
+        merchantCache.findById(merchantId);
+
+        verify(merchantRepository, times(1)).findByEmail("loja@banking.com");
+        verify(merchantRepository, times(1)).findById(merchantId);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown merchants nor leak mutations of returned copies")
+    public void shouldNotCacheMissesNorShareInstances() {
+        UUID unknown = UUID.randomUUID();
+        when(merchantRepository.findById(unknown)).thenReturn(Optional.empty());
+        when(merchantRepository.findById(merchantId))
+                .thenReturn(Optional.of(MerchantMapper.toEntity(merchant("100.00"))));
+
+        assertThat(merchantCache.findById(unknown)).isEmpty();
+        assertThat(merchantCache.findById(unknown)).isEmpty();
+        verify(merchantRepository, times(2)).findById(unknown);
+
+        merchantCache.findById(merchantId).orElseThrow().setBalance(BigDecimal.ZERO);
+        assertThat(merchantCache.findById(merchantId)).get()
+                .extracting(Merchant::getBalance).isEqualTo(new BigDecimal("100.00"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.banking.merchantservice;
+
+import com.banking.core.concurrent.KeyOrderedExecutor;
+import com.banking.core.event.MerchantUpdatedEvent;
+import com.banking.merchantservice.mapper.MerchantMapper;
+import com.banking.merchantservice.model.Merchant;
+import com.banking.merchantservice.model.MerchantChanged;
+import com.banking.merchantservice.repository.MerchantRepository;
+import com.banking.merchantservice.service.MerchantDirectoryPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MerchantDirectoryPublisherTest {
+
+    @Mock
+    private MerchantRepository merchantRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("test-directory", 1);
+    private final UUID merchantId = UUID.randomUUID();
+
+    private MerchantDirectoryPublisher publisher(boolean publishOnStartup) {
+        return new MerchantDirectoryPublisher(
+                merchantRepository, kafkaTemplate, executor, "merchant-directory", publishOnStartup, 2, 1000
+        );
+    }
+
+    private Merchant merchant(String balance) {
+        return new Merchant(merchantId, "Loja", "loja@banking.com", "11999999999", new BigDecimal(balance), "BRL");
+    }
+
+    private Merchant merchant(UUID id) {
+        return new Merchant(id, "Loja", "loja@banking.com", "11999999999", BigDecimal.TEN, "BRL");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should publish the committed balance keyed by merchant id when a merchant changes")
+    public void shouldPublishCommittedStateOnChange() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(merchantRepository.findById(merchantId)).thenReturn(Optional.of(MerchantMapper.toEntity(merchant("75.00"))));
+
+        publisher(false).onMerchantChanged(new MerchantChanged(merchantId));
+
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, timeout(1000)).send(eq("merchant-directory"), eq(merchantId.toString()), event.capture());
+        assertThat(event.getValue()).isInstanceOfSatisfying(MerchantUpdatedEvent.class, updated -> {
+            assertThat(updated.getMerchantId()).isEqualTo(merchantId);
+            assertThat(updated.getBalance()).isEqualByComparingTo("75.00");
+            assertThat(updated.getCurrency()).isEqualTo("BRL");
+        });
+    }
+
+    @Test
+    @DisplayName("Should republish every merchant on startup a page at a time, only when enabled")
+    public void shouldRepublishAllOnStartup() {
+        publisher(false).publishAll();
+        verifyNoInteractions(merchantRepository, kafkaTemplate);
+
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(3).toList();
+        when(merchantRepository.findByIdGreaterThanOrderById(any(), eq(Limit.of(2)))).thenReturn(
+                List.of(MerchantMapper.toEntity(merchant(ids.get(0))), MerchantMapper.toEntity(merchant(ids.get(1)))),
+                List.of(MerchantMapper.toEntity(merchant(ids.get(2))))
+        );
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher(true).publishAll();
+
+        verify(merchantRepository).findByIdGreaterThanOrderById(new UUID(0, 0), Limit.of(2));
+        verify(merchantRepository).findByIdGreaterThanOrderById(ids.get(1), Limit.of(2));
+        ids.forEach(id -> verify(kafkaTemplate).send(eq("merchant-directory"), eq(id.toString()), any()));
+        verify(merchantRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should retry a send the broker did not acknowledge")
+    public void shouldRetryUnacknowledgedSend() {
+        KeyOrderedExecutor retrying = new KeyOrderedExecutor("test-directory-retry", 2);
+        MerchantDirectoryPublisher publisher = new MerchantDirectoryPublisher(
+                merchantRepository, kafkaTemplate, retrying, "merchant-directory", false, 2, 1000
+        );
+        when(merchantRepository.findById(merchantId)).thenReturn(Optional.of(MerchantMapper.toEntity(merchant("75.00"))));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        try {
+            publisher.onMerchantChanged(new MerchantChanged(merchantId));
+
+            verify(kafkaTemplate, timeout(1000).times(2)).send(eq("merchant-directory"), eq(merchantId.toString()), any());
+        } finally {
+            retrying.close();
+        }
+    }
+}
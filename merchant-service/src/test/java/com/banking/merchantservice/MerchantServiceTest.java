@@ -0,0 +1,97 @@
+package com.banking.merchantservice;
+
+import com.banking.merchantservice.exception.MerchantNotFoundException;
+import com.banking.merchantservice.repository.MerchantRepository;
+import com.banking.merchantservice.service.MerchantCache;
+import com.banking.merchantservice.service.MerchantEventStore;
+import com.banking.merchantservice.service.MerchantService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MerchantServiceTest {
+
+    @Mock
+    private MerchantRepository merchantRepository;
+
+    @Mock
+    private MerchantEventStore merchantEventStore;
+
+    @Mock
+    private MerchantCache merchantCache;
+
+    @InjectMocks
+    private MerchantService merchantService;
+
+    private final UUID merchantId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should debit payer with a single conditional update and record the returned balance")
+    public void shouldDebitPayerWithSingleUpdate() {
+        when(merchantRepository.applyBalanceDelta(merchantId, new BigDecimal("-25.00")))
+                .thenReturn(Optional.of(new BigDecimal("75.00")));
+
+        merchantService.debitPayer(merchantId, new BigDecimal("25.00"));
+
+        verify(merchantRepository, never()).findById(any());
+        verify(merchantRepository, never()).save(any());
+        verify(merchantEventStore).savePaymentDebitedEvent(merchantId, new BigDecimal("-25.00"), new BigDecimal("75.00"));
+        verify(merchantCache).evict(merchantId);
+    }
+
+    @Test
+    @DisplayName("Should reject debit when the conditional update matches no row for an existing payer")
+    public void shouldRejectDebitWhenBalanceIsInsufficient() {
+        when(merchantRepository.applyBalanceDelta(eq(merchantId), any())).thenReturn(Optional.empty());
+        when(merchantRepository.existsById(merchantId)).thenReturn(true);
+
+        assertThatThrownBy(() -> merchantService.debitPayer(merchantId, new BigDecimal("25.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient balance");
+        verifyNoInteractions(merchantEventStore);
+        verifyNoInteractions(merchantCache);
+    }
+
+    @Test
+    @DisplayName("Should report unknown payer when the conditional update matches no row")
+    public void shouldReportUnknownPayer() {
+        when(merchantRepository.applyBalanceDelta(eq(merchantId), any())).thenReturn(Optional.empty());
+        when(merchantRepository.existsById(merchantId)).thenReturn(false);
+
+        assertThatThrownBy(() -> merchantService.debitPayer(merchantId, new BigDecimal("25.00")))
+                .isInstanceOf(MerchantNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should credit payee with a single conditional update")
+    public void shouldCreditPayeeWithSingleUpdate() {
+        when(merchantRepository.applyBalanceDelta(merchantId, new BigDecimal("10.00")))
+                .thenReturn(Optional.of(new BigDecimal("60.00")));
+
+        merchantService.processReceivedPayment(merchantId, new BigDecimal("10.00"));
+
+        verify(merchantEventStore).savePaymentReceivedEvent(merchantId, new BigDecimal("10.00"), new BigDecimal("60.00"));
+        verify(merchantCache).evict(merchantId);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive amounts before touching the database")
+    public void shouldRejectNonPositiveAmount() {
+        assertThatThrownBy(() -> merchantService.processReceivedPayment(merchantId, BigDecimal.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Amount must be greater than zero");
+        verifyNoInteractions(merchantRepository);
+    }
+}
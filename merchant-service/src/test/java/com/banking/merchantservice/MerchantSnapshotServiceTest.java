@@ -0,0 +1,131 @@
+package com.banking.merchantservice;
+
+import com.banking.merchantservice.exception.MerchantNotFoundException;
+import com.banking.merchantservice.model.MerchantBalanceReplay;
+import com.banking.merchantservice.model.MerchantEventCursor;
+import com.banking.merchantservice.model.MerchantEventTotals;
+import com.banking.merchantservice.model.MerchantSnapshot;
+import com.banking.merchantservice.repository.MerchantRepository;
+import com.banking.merchantservice.service.MerchantEventStore;
+import com.banking.merchantservice.service.MerchantSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MerchantSnapshotServiceTest {
+
+    @Mock
+    private MerchantRepository merchantRepository;
+
+    @Mock
+    private MerchantEventStore merchantEventStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MerchantSnapshotService merchantSnapshotService;
+
+    private final UUID merchantId = UUID.randomUUID();
+    private final LocalDateTime horizon = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private final MerchantSnapshot snapshot = new MerchantSnapshot(
+            merchantId, new BigDecimal("500.00"), 40, new MerchantEventCursor(horizon.minusHours(1), UUID.randomUUID())
+    );
+
+    @BeforeEach
+    void setUp() {
+        merchantSnapshotService = new MerchantSnapshotService(
+                merchantRepository, merchantEventStore, transactionManager, 60000
+        );
+    }
+
+    @Test
+    @DisplayName("Should replay balance from the latest snapshot and only the events after it")
+    public void shouldReplayFromLatestSnapshot() {
+        when(merchantRepository.existsById(merchantId)).thenReturn(true);
+        when(merchantEventStore.findLatestSnapshot(merchantId, horizon)).thenReturn(Optional.of(snapshot));
+        when(merchantEventStore.getBalanceChangesAfter(merchantId, snapshot.lastEvent(), horizon))
+                .thenReturn(new MerchantEventTotals(new BigDecimal("-120.50"), 3));
+
+        MerchantBalanceReplay replay = merchantSnapshotService.replay(merchantId, horizon);
+
+        assertThat(replay.balance()).isEqualByComparingTo("379.50");
+        assertThat(replay.eventsReplayed()).isEqualTo(3);
+        assertThat(replay.snapshotAt()).isEqualTo(snapshot.lastEvent().eventDateTime());
+    }
+
+    @Test
+    @DisplayName("Should replay the whole history when no snapshot exists yet")
+    public void shouldReplayWholeHistoryWithoutSnapshot() {
+        when(merchantRepository.existsById(merchantId)).thenReturn(true);
+        when(merchantEventStore.findLatestSnapshot(merchantId, horizon)).thenReturn(Optional.empty());
+        when(merchantEventStore.getBalanceChangesAfter(merchantId, MerchantEventCursor.START, horizon))
+                .thenReturn(new MerchantEventTotals(new BigDecimal("100.00"), 2));
+
+        MerchantBalanceReplay replay = merchantSnapshotService.replay(merchantId, horizon);
+
+        assertThat(replay.balance()).isEqualByComparingTo("100.00");
+        assertThat(replay.snapshotAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject replay for unknown merchants")
+    public void shouldRejectReplayForUnknownMerchant() {
+        when(merchantRepository.existsById(merchantId)).thenReturn(false);
+
+        assertThatThrownBy(() -> merchantSnapshotService.replay(merchantId, horizon))
+                .isInstanceOf(MerchantNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should store a new snapshot positioned at the last event before the horizon")
+    public void shouldTakeSnapshotAtLastEvent() {
+        MerchantEventCursor lastEvent = new MerchantEventCursor(horizon.minusMinutes(5), UUID.randomUUID());
+        when(merchantEventStore.findLastEventBefore(merchantId, horizon)).thenReturn(Optional.of(lastEvent));
+        when(merchantEventStore.findLatestSnapshot(merchantId, horizon)).thenReturn(Optional.of(snapshot));
+        when(merchantEventStore.getBalanceChangesAfter(merchantId, snapshot.lastEvent(), horizon))
+                .thenReturn(new MerchantEventTotals(new BigDecimal("25.00"), 2));
+
+        assertThat(merchantSnapshotService.takeSnapshot(merchantId, horizon)).isTrue();
+
+        ArgumentCaptor<MerchantSnapshot> captor = ArgumentCaptor.forClass(MerchantSnapshot.class);
+        verify(merchantEventStore).saveSnapshot(captor.capture());
+        assertThat(captor.getValue().balance()).isEqualByComparingTo("525.00");
+        assertThat(captor.getValue().eventCount()).isEqualTo(42);
+        assertThat(captor.getValue().lastEvent()).isEqualTo(lastEvent);
+    }
+
+    @Test
+    @DisplayName("Should skip the snapshot when no event happened since the previous one")
+    public void shouldSkipSnapshotWithoutNewEvents() {
+        when(merchantEventStore.findLastEventBefore(merchantId, horizon)).thenReturn(Optional.of(snapshot.lastEvent()));
+        when(merchantEventStore.findLatestSnapshot(merchantId, horizon)).thenReturn(Optional.of(snapshot));
+
+        assertThat(merchantSnapshotService.takeSnapshot(merchantId, horizon)).isFalse();
+        verify(merchantEventStore, never()).saveSnapshot(any());
+    }
+
+    @Test
+    @DisplayName("Should round-trip history cursors and reject malformed ones")
+    public void shouldParseCursor() {
+        MerchantEventCursor cursor = new MerchantEventCursor(horizon.plusNanos(123_000), UUID.randomUUID());
+
+        assertThat(MerchantEventCursor.parse(cursor.toString())).isEqualTo(cursor);
+        assertThatThrownBy(() -> MerchantEventCursor.parse("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
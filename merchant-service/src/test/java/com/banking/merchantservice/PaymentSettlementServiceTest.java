@@ -0,0 +1,161 @@
+package com.banking.merchantservice;
+
+import com.banking.core.dedupe.EventDeduplicator;
+import com.banking.core.dedupe.ProcessedEventLog;
+import com.banking.core.event.PaymentProcessedEvent;
+import com.banking.merchantservice.model.BalanceChange;
+import com.banking.merchantservice.repository.MerchantRepository;
+import com.banking.merchantservice.service.MerchantCache;
+import com.banking.merchantservice.service.MerchantEventStore;
+import com.banking.merchantservice.service.MerchantService;
+import com.banking.merchantservice.service.PaymentSettlementService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentSettlementServiceTest {
+
+    @Mock
+    private MerchantRepository merchantRepository;
+
+    @Mock
+    private MerchantEventStore merchantEventStore;
+
+    @Mock
+    private MerchantCache merchantCache;
+
+    private final ProcessedEventLog processedEventLog = mock(ProcessedEventLog.class);
+
+    @Spy
+    private EventDeduplicator eventDeduplicator = new EventDeduplicator(processedEventLog, 1_000, 0.01);
+
+    @BeforeEach
+    void claimEverything() {
+        lenient().when(processedEventLog.claim(anyCollection()))
+                .thenAnswer(invocation -> new HashSet<UUID>(invocation.getArgument(0)));
+    }
+
+    @InjectMocks
+    private PaymentSettlementService paymentSettlementService;
+
+    private final UUID payerId = UUID.randomUUID();
+    private final UUID payeeId = UUID.randomUUID();
+
+    private PaymentProcessedEvent approved(String amount) {
+        return PaymentProcessedEvent.builder()
+                .paymentId(UUID.randomUUID())
+                .payerId(payerId)
+                .payeeId(payeeId)
+                .amount(new BigDecimal(amount))
+                .status("APPROVED")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BalanceChange> captureCredits() {
+        ArgumentCaptor<List<BalanceChange>> captor = ArgumentCaptor.forClass(List.class);
+        verify(merchantEventStore).savePaymentReceivedEvents(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should credit each payee once per batch and record one event per payment without touching the payer")
+    public void shouldAggregateCreditsPerPayee() {
+        when(merchantRepository.findExistingIds(anyCollection())).thenReturn(Set.of(payeeId));
+        when(merchantRepository.applyBalanceDelta(payeeId, new BigDecimal("30.00")))
+                .thenReturn(Optional.of(new BigDecimal("30.00")));
+
+        paymentSettlementService.settle(List.of(approved("10.00"), approved("20.00")));
+
+        verify(merchantRepository, times(1)).applyBalanceDelta(any(), any());
+        verify(merchantRepository, never()).applyBalanceDelta(eq(payerId), any());
+        verify(merchantCache).evict(payeeId);
+
+        assertThat(captureCredits()).extracting(BalanceChange::newBalance)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("30.00"));
+    }
+
+    @Test
+    @DisplayName("Should debit the payer exactly once when a payment goes through the saga debit and then settlement")
+    public void shouldDebitPayerOnceAcrossSagaAndSettlement() {
+        Map<UUID, BigDecimal> balances = new HashMap<>(Map.of(payerId, new BigDecimal("100.00"), payeeId, BigDecimal.ZERO));
+        when(merchantRepository.applyBalanceDelta(any(), any())).thenAnswer(invocation -> {
+            UUID merchantId = invocation.getArgument(0);
+            BigDecimal updated = balances.get(merchantId).add(invocation.getArgument(1));
+            if (updated.signum() < 0) {
+                return Optional.empty();
+            }
+            balances.put(merchantId, updated);
+            return Optional.of(updated);
+        });
+        when(merchantRepository.findExistingIds(anyCollection())).thenReturn(balances.keySet());
+        MerchantService merchantService = new MerchantService(merchantRepository, merchantEventStore, merchantCache, mock(EntityManager.class));
+
+        // PaymentSaga's DEBIT step calls POST /merchants/{payerId}/debit, then publishes APPROVED for settlement
+        merchantService.debitPayer(payerId, new BigDecimal("40.00"));
+        paymentSettlementService.settle(List.of(approved("40.00")));
+
+        assertThat(balances.get(payerId)).isEqualByComparingTo("60.00");
+        assertThat(balances.get(payeeId)).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    @DisplayName("Should ignore rejected payments and payments for unknown payees")
+    public void shouldSkipRejectedAndUnknownMerchants() {
+        PaymentProcessedEvent rejected = approved("10.00");
+        rejected.setStatus("REJECTED");
+        PaymentProcessedEvent unknownPayee = approved("10.00");
+        unknownPayee.setPayeeId(UUID.randomUUID());
+
+        when(merchantRepository.findExistingIds(anyCollection())).thenReturn(Set.of(payerId, payeeId));
+
+        paymentSettlementService.settle(List.of(rejected, unknownPayee));
+
+        verify(merchantRepository, never()).applyBalanceDelta(any(), any());
+        verifyNoInteractions(merchantEventStore);
+    }
+
+    @Test
+    @DisplayName("Should settle a redelivered payment only once, dropping the copy instead of failing the batch")
+    public void shouldSkipRedeliveredEvents() {
+        PaymentProcessedEvent payment = approved("10.00");
+        payment.setEventId(UUID.randomUUID());
+        PaymentProcessedEvent other = approved("5.00");
+        other.setEventId(UUID.randomUUID());
+
+        when(merchantRepository.findExistingIds(anyCollection())).thenReturn(Set.of(payeeId));
+        when(merchantRepository.applyBalanceDelta(eq(payeeId), any())).thenReturn(Optional.of(new BigDecimal("10.00")));
+        when(processedEventLog.claim(anyCollection()))
+                .thenReturn(Set.of(payment.getEventId()))
+                .thenReturn(Set.of(other.getEventId()));
+
+        paymentSettlementService.settle(List.of(payment));
+        paymentSettlementService.settle(List.of(payment, other));
+
+        verify(merchantRepository).applyBalanceDelta(payeeId, new BigDecimal("10.00"));
+        verify(merchantRepository).applyBalanceDelta(payeeId, new BigDecimal("5.00"));
+        verify(merchantRepository, times(2)).applyBalanceDelta(eq(payeeId), any());
+    }
+}
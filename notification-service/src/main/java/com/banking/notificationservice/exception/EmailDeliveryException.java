@@ -0,0 +1,11 @@
+package com.banking.notificationservice.exception;
+
+public class EmailDeliveryException extends RuntimeException {
+    public EmailDeliveryException(String message) {
+        super(message);
+    }
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
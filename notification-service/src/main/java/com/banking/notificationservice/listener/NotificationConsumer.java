@@ -1,5 +1,7 @@
 package com.banking.notificationservice.listener;
 
+import com.banking.core.concurrent.KeyOrderedExecutor;
+import com.banking.core.dedupe.EventDeduplicator;
 import com.banking.core.event.PaymentProcessedEvent;
 import com.banking.notificationservice.service.NotificationService;
 import lombok.RequiredArgsConstructor;
@@ -8,16 +10,37 @@ import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationConsumer {
 
     private final NotificationService notificationService;
+    private final KeyOrderedExecutor listenerExecutor;
+    private final EventDeduplicator eventDeduplicator;
 
-    @KafkaListener(topics = "payment-processed", groupId = "notification-group")
-    public void handlePaymentProcessed( PaymentProcessedEvent event ) {
-        notificationService.notifyPaymentProcessed(event);
+    @KafkaListener(
+            topics = "payment-processed",
+            groupId = "notification-group",
+            containerFactory = "parallelListenerContainerFactory"
+    )
+    public CompletableFuture<Void> handlePaymentProcessed( PaymentProcessedEvent event ) {
+        // a failed notification moves on to the next retry topic once the future completes; the event is claimed
+        // when its notification is stored, this only skips rendering an obvious redelivery
+        return listenerExecutor.submit(event.getPaymentId(), () -> {
+                    if (eventDeduplicator.alreadyProcessed(event.getEventId())) {
+                        log.info("⏭️ Evento {} já notificado, ignorando", event.getEventId());
+                        return;
+                    }
+                    notificationService.notifyPaymentProcessed(event);
+                })
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.error("❌ Falha ao notificar payment {}", event.getPaymentId(), error);
+                    }
+                });
     }
 
     @KafkaHandler(isDefault = true)
@@ -0,0 +1,7 @@
+package com.banking.notificationservice.model;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
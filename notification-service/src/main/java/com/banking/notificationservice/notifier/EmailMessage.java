@@ -0,0 +1,7 @@
+package com.banking.notificationservice.notifier;
+
+public record EmailMessage(
+        String to,
+        String subject,
+        String body
+) {}
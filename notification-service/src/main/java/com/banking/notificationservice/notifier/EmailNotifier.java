@@ -1,5 +1,22 @@
 package com.banking.notificationservice.notifier;
 
+import com.banking.notificationservice.exception.EmailDeliveryException;
+
+import java.util.List;
+import java.util.Map;
+
 public interface EmailNotifier {
-    void send(String to, String subject, String body);
+
+    /**
+     * Sends the messages over a single connection and reports the ones that failed by their position in {@code messages};
+     * an empty map means every message was accepted by the server.
+     */
+    Map<Integer, Exception> sendAll(List<EmailMessage> messages);
+
+    default void send(String to, String subject, String body) {
+        Exception failure = sendAll(List.of(new EmailMessage(to, subject, body))).get(0);
+        if (failure != null) {
+            throw new EmailDeliveryException("Could not send email to " + to, failure);
+        }
+    }
 }
@@ -1,37 +1,150 @@
 package com.banking.notificationservice.notifier;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps up to {@code pool-size} authenticated SMTP connections open and sends every batch over one of them, instead of
+ * paying a TCP + TLS + AUTH handshake per message as {@code JavaMailSender.send} does.
+ */
 @Slf4j
 @Component("realNotifier")
 @Primary
-@RequiredArgsConstructor
 public class StmpEmailNotifier implements EmailNotifier {
+    private static final String FROM = "noreply@banking-system.com";
 
-    private final JavaMailSender mailSender;
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Transport> idle = new LinkedBlockingQueue<>();
+    private final Semaphore sessions;
+    private final Counter connections;
 
-    @Override
-    public void send(String to, String subject, String body) {
+    public StmpEmailNotifier(
+            JavaMailSenderImpl mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${notification.smtp.pool-size:4}") int poolSize
+    ) {
+        this.mailSender = mailSender;
+        this.sessions = new Semaphore(poolSize);
+        this.connections = meterRegistry.counter("notification.smtp.connections");
+    }
 
+    @Override
+    public Map<Integer, Exception> sendAll(List<EmailMessage> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        Transport transport;
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom("noreply@banking-system.com");
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
+            transport = borrow();
+        } catch (MessagingException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("📭 Sem conexão SMTP: {}", e.getMessage());
+            for (int i = 0; i < messages.size(); i++) {
+                failures.put(i, e);
+            }
+            return failures;
+        }
 
-            mailSender.send(message);
+        MessagingException broken = null;
+        for (int i = 0; i < messages.size(); i++) {
+            if (broken != null) {
+                failures.put(i, broken);
+                continue;
+            }
+            try {
+                MimeMessage message = toMimeMessage(messages.get(i));
+                transport.sendMessage(message, message.getAllRecipients());
+            } catch (SendFailedException e) {
+                // the server refused this message's recipients; the connection itself is still usable
+                failures.put(i, e);
+            } catch (MessagingException e) {
+                broken = e;
+                failures.put(i, e);
+            }
+        }
+
+        if (broken == null) {
+            idle.offer(transport);
+        } else {
+            log.warn("📭 Conexão SMTP descartada: {}", broken.getMessage());
+            close(transport);
+        }
+        sessions.release();
+        return failures;
+    }
 
-        } catch (Exception e) {
-            log.error("Error sending email", e);
+    @PreDestroy
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            close(transport);
+        }
+    }
 
+    private Transport borrow() throws MessagingException, InterruptedException {
+        sessions.acquire();
+        try {
+            // isConnected() sends a NOOP, so a connection the server timed out is replaced here
+            Transport transport = idle.poll();
+            if (transport != null && transport.isConnected()) {
+                return transport;
+            }
+            if (transport != null) {
+                close(transport);
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            sessions.release();
+            throw e;
         }
+    }
 
+    private Transport connect() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        connections.increment();
+        return transport;
     }
 
+    private MimeMessage toMimeMessage(EmailMessage email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(FROM);
+        helper.setTo(email.to());
+        helper.setSubject(email.subject());
+        helper.setText(email.body());
+        message.setHeader("Date", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()));
+        message.saveChanges();
+        return message;
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Erro ao fechar conexão SMTP", e);
+        }
+    }
 }
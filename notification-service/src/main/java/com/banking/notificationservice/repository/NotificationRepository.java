@@ -1,11 +1,77 @@
 package com.banking.notificationservice.repository;
 
 import com.banking.notificationservice.model.NotificationEntity;
+import com.banking.notificationservice.model.NotificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<NotificationEntity, UUID> {
+
+    // leases the oldest PENDING rows nobody holds; rows another instance is claiming at the same time are skipped
+    @Transactional
+    @Query(value = """
+            UPDATE notifications SET claimed_by = :owner, claimed_until = :until
+            WHERE id IN (
+                SELECT id FROM notifications
+                WHERE status = 'PENDING' AND (claimed_until IS NULL OR claimed_until < :now)
+                ORDER BY created_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<NotificationEntity> claimPending(
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until,
+            @Param("limit") int limit
+    );
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update NotificationEntity n
+            set n.claimedUntil = :until
+            where n.id in :ids and n.claimedBy = :owner
+            """)
+    int renewLeases(
+            @Param("ids") Collection<UUID> ids,
+            @Param("owner") String owner,
+            @Param("until") LocalDateTime until
+    );
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update NotificationEntity n
+            set n.status = com.banking.notificationservice.model.NotificationStatus.SENT,
+                n.attempts = n.attempts + 1,
+                n.sentAt = :sentAt
+            where n.id in :ids
+            """)
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update NotificationEntity n
+            set n.status = :status, n.attempts = :attempts, n.lastError = :lastError
+            where n.id = :id
+            """)
+    int recordAttempt(
+            @Param("id") UUID id,
+            @Param("status") NotificationStatus status,
+            @Param("attempts") int attempts,
+            @Param("lastError") String lastError
+    );
 }
@@ -0,0 +1,381 @@
+package com.banking.notificationservice.service;
+
+import com.banking.notificationservice.exception.EmailDeliveryException;
+import com.banking.notificationservice.model.NotificationEntity;
+import com.banking.notificationservice.model.NotificationStatus;
+import com.banking.notificationservice.notifier.EmailMessage;
+import com.banking.notificationservice.notifier.EmailNotifier;
+import com.banking.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded queue between the Kafka listener and the SMTP server. Notifications are stored as PENDING and handed to a
+ * fixed set of workers, one per pooled SMTP connection, that send them in batches and record the outcome. Failed sends
+ * come back after an exponential back-off until {@code max-attempts}, then stay FAILED.
+ * <p>
+ * Every PENDING row is leased to the instance delivering it for {@code lease-ms}, renewed while it is in memory. Rows
+ * whose lease ran out, because their instance stopped, are claimed by exactly one other instance and sent from there.
+ * <p>
+ * In digest mode notifications are held per recipient for {@code digest.window-ms}, or until {@code digest.max-messages}
+ * pile up, and go out as one email; each payment keeps its own row, and the rows of a digest share its outcome. A
+ * notification gives its queue slot back as soon as it joins a digest, since its row is already stored, so a long
+ * window does not hold back the consumer.
+ */
+@Service
+@Slf4j
+public class EmailDeliveryService {
+    private final EmailNotifier emailNotifier;
+    private final NotificationRepository notificationRepository;
+    private final NotificationJournal notificationJournal;
+    private final BlockingQueue<List<NotificationEntity>> queue = new LinkedBlockingQueue<>();
+    private final Map<String, List<NotificationEntity>> digests = new ConcurrentHashMap<>();
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> digested = ConcurrentHashMap.newKeySet();
+    private final Semaphore capacity;
+    private final String owner = UUID.randomUUID().toString();
+    private final long leaseMs;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final double backoffMultiplier;
+    private final long maxBackoffMs;
+    private final boolean digestEnabled;
+    private final long digestWindowMs;
+    private final int digestMaxMessages;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retries;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final DistributionSummary digestSizes;
+
+    public EmailDeliveryService(
+            EmailNotifier emailNotifier,
+            NotificationRepository notificationRepository,
+            NotificationJournal notificationJournal,
+            MeterRegistry meterRegistry,
+            @Value("${notification.smtp.pool-size:4}") int workerCount,
+            @Value("${notification.delivery.queue-capacity:10000}") int queueCapacity,
+            @Value("${notification.delivery.batch-size:50}") int batchSize,
+            @Value("${notification.delivery.enqueue-timeout-ms:5000}") long enqueueTimeoutMs,
+            @Value("${notification.delivery.max-attempts:5}") int maxAttempts,
+            @Value("${notification.delivery.backoff-ms:1000}") long backoffMs,
+            @Value("${notification.delivery.backoff-multiplier:2}") double backoffMultiplier,
+            @Value("${notification.delivery.max-backoff-ms:60000}") long maxBackoffMs,
+            @Value("${notification.delivery.lease-ms:60000}") long leaseMs,
+            @Value("${notification.digest.enabled:false}") boolean digestEnabled,
+            @Value("${notification.digest.window-ms:60000}") long digestWindowMs,
+            @Value("${notification.digest.max-messages:50}") int digestMaxMessages
+    ) {
+        this.emailNotifier = emailNotifier;
+        this.notificationRepository = notificationRepository;
+        this.notificationJournal = notificationJournal;
+        this.capacity = new Semaphore(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.backoffMultiplier = backoffMultiplier;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+        this.digestEnabled = digestEnabled;
+        this.digestWindowMs = digestWindowMs;
+        this.digestMaxMessages = digestMaxMessages;
+        this.sent = meterRegistry.counter("notification.email.deliveries", "outcome", "sent");
+        this.retried = meterRegistry.counter("notification.email.deliveries", "outcome", "retried");
+        this.failed = meterRegistry.counter("notification.email.deliveries", "outcome", "failed");
+        this.batchTimer = meterRegistry.timer("notification.email.batch");
+        this.digestSizes = meterRegistry.summary("notification.email.digest.size");
+        Gauge.builder("notification.email.queue.size", queue, BlockingQueue::size)
+                .description("Emails ready to be sent; those backing off or waiting for their digest are not counted")
+                .register(meterRegistry);
+        Gauge.builder("notification.email.digest.recipients", digests, Map::size)
+                .description("Recipients with a digest still collecting notifications")
+                .register(meterRegistry);
+
+        this.retries = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("email-retry").daemon().factory());
+        this.workers = Executors.newFixedThreadPool(workerCount, Thread.ofPlatform().name("email-delivery-", 0).daemon().factory());
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::deliverLoop);
+        }
+    }
+
+    // blocks the caller while the queue is full, so a slow SMTP server pushes back on the consumer instead of piling up;
+    // empty when the event was already notified
+    public Optional<NotificationEntity> submit(NotificationEntity notification, UUID eventId) {
+        acquireCapacity();
+        try {
+            notification.setStatus(NotificationStatus.PENDING);
+            notification.setClaimedBy(owner);
+            notification.setClaimedUntil(LocalDateTime.now().plus(Duration.ofMillis(leaseMs)));
+            Optional<NotificationEntity> saved = notificationJournal.append(notification, eventId);
+            saved.ifPresentOrElse(this::enqueue, capacity::release);
+            return saved;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    // notifications still PENDING were queued by an instance that stopped; each is claimed by one instance only
+    @EventListener(ApplicationReadyEvent.class)
+    public void requeuePending() {
+        int available = capacity.availablePermits();
+        if (available == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationEntity> claimed = new ArrayList<>(notificationRepository.claimPending(
+                owner, now, now.plus(Duration.ofMillis(leaseMs)), available
+        ));
+        claimed.sort(Comparator.comparing(NotificationEntity::getCreatedAt));
+
+        int requeued = 0;
+        for (NotificationEntity notification : claimed) {
+            // a row left unqueued keeps its lease until it runs out and is claimed again
+            if (!capacity.tryAcquire()) {
+                break;
+            }
+            if (enqueue(notification)) {
+                requeued++;
+            } else {
+                capacity.release();
+            }
+        }
+        if (requeued > 0) {
+            log.info("📬 {} notificações pendentes reenfileiradas", requeued);
+        }
+    }
+
+    // renews the leases of what this instance holds, then takes over what a stopped instance left behind
+    @Scheduled(fixedDelayString = "${notification.delivery.lease-renew-ms:20000}")
+    public void renewLeases() {
+        try {
+            if (!inFlight.isEmpty()) {
+                notificationRepository.renewLeases(
+                        List.copyOf(inFlight), owner, LocalDateTime.now().plus(Duration.ofMillis(leaseMs))
+                );
+            }
+            requeuePending();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Não foi possível renovar as concessões das notificações pendentes", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        retries.shutdownNow();
+        workers.shutdownNow();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void acquireCapacity() {
+        try {
+            if (!capacity.tryAcquire(enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new EmailDeliveryException("Email delivery queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmailDeliveryException("Interrupted while waiting for the email delivery queue", e);
+        }
+    }
+
+    private boolean enqueue(NotificationEntity notification) {
+        if (!inFlight.add(notification.getId())) {
+            return false;
+        }
+        if (digestEnabled) {
+            collect(notification);
+        } else {
+            queue.add(List.of(notification));
+        }
+        return true;
+    }
+
+    private void collect(NotificationEntity notification) {
+        String recipient = notification.getRecipientEmail();
+        AtomicReference<List<NotificationEntity>> full = new AtomicReference<>();
+        digests.compute(recipient, (key, pending) -> {
+            if (pending == null) {
+                List<NotificationEntity> opened = new ArrayList<>();
+                retries.schedule(() -> closeDigest(key, opened), digestWindowMs, TimeUnit.MILLISECONDS);
+                pending = opened;
+            }
+            pending.add(notification);
+            if (pending.size() >= digestMaxMessages) {
+                full.set(pending);
+                return null;
+            }
+            return pending;
+        });
+        // the row is stored and the digest holds it from here on, so its permit goes back to the consumer
+        digested.add(notification.getId());
+        capacity.release();
+        if (full.get() != null) {
+            sendDigest(full.get());
+        }
+    }
+
+    // the window timer of a digest that already went out on its count must not cut the next one short
+    private void closeDigest(String recipient, List<NotificationEntity> digest) {
+        AtomicBoolean closed = new AtomicBoolean();
+        digests.computeIfPresent(recipient, (key, pending) -> {
+            if (pending != digest) {
+                return pending;
+            }
+            closed.set(true);
+            return null;
+        });
+        if (closed.get()) {
+            sendDigest(digest);
+        }
+    }
+
+    private void sendDigest(List<NotificationEntity> digest) {
+        digestSizes.record(digest.size());
+        queue.add(List.copyOf(digest));
+    }
+
+    private void deliverLoop() {
+        List<List<NotificationEntity>> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                deliver(batch);
+            } catch (RuntimeException e) {
+                log.error("❌ Falha inesperada ao entregar lote de {} e-mails", batch.size(), e);
+                batch.forEach(email -> email.forEach(this::finish));
+            }
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<List<NotificationEntity>> batch) {
+        List<EmailMessage> messages = batch.stream().map(EmailDeliveryService::message).toList();
+        Map<Integer, Exception> failures = batchTimer.record(() -> emailNotifier.sendAll(messages));
+
+        List<NotificationEntity> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Exception failure = failures.get(i);
+            if (failure == null) {
+                delivered.addAll(batch.get(i));
+            } else {
+                retryOrFail(batch.get(i), failure);
+            }
+        }
+        if (delivered.isEmpty()) {
+            return;
+        }
+
+        sent.increment(delivered.size());
+        try {
+            notificationRepository.markSent(delivered.stream().map(NotificationEntity::getId).toList(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("⚠️ {} e-mails enviados sem registrar o status", delivered.size(), e);
+        } finally {
+            delivered.forEach(this::finish);
+        }
+        log.info("📧 {} e-mails enviados", delivered.size());
+    }
+
+    private void retryOrFail(List<NotificationEntity> email, Exception failure) {
+        int attempts = 0;
+        for (NotificationEntity notification : email) {
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setLastError(failure.getMessage());
+            attempts = Math.max(attempts, notification.getAttempts());
+        }
+
+        if (attempts >= maxAttempts) {
+            failed.increment(email.size());
+            log.error("❌ E-mail para {} falhou após {} tentativas: {}",
+                    email.getFirst().getRecipientEmail(), attempts, failure.getMessage());
+            for (NotificationEntity notification : email) {
+                notification.setStatus(NotificationStatus.FAILED);
+                saveStatus(notification);
+                finish(notification);
+            }
+            return;
+        }
+
+        retried.increment(email.size());
+        email.forEach(this::saveStatus);
+        retries.schedule(() -> queue.add(email), backoff(attempts), TimeUnit.MILLISECONDS);
+    }
+
+    private static EmailMessage message(List<NotificationEntity> email) {
+        NotificationEntity first = email.getFirst();
+        if (email.size() == 1) {
+            return new EmailMessage(first.getRecipientEmail(), first.getSubject(), first.getContent());
+        }
+
+        StringBuilder body = new StringBuilder()
+                .append(email.size()).append(" payment updates since the last email:");
+        for (NotificationEntity notification : email) {
+            body.append("\n\n---\n").append(notification.getSubject()).append("\n\n").append(notification.getContent());
+        }
+        return new EmailMessage(first.getRecipientEmail(), "Payment updates: " + email.size() + " payments", body.toString());
+    }
+
+    private long backoff(int attempts) {
+        return (long) Math.min(backoffMs * Math.pow(backoffMultiplier, attempts - 1), maxBackoffMs);
+    }
+
+    // the row is only bookkeeping at this point; failing to update it must not stop the delivery itself
+    private void saveStatus(NotificationEntity notification) {
+        try {
+            notificationRepository.recordAttempt(
+                    notification.getId(), notification.getStatus(), notification.getAttempts(), notification.getLastError()
+            );
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Não foi possível registrar o status da notificação {}", notification.getId(), e);
+        }
+    }
+
+    private void finish(NotificationEntity notification) {
+        inFlight.remove(notification.getId());
+        if (!digested.remove(notification.getId())) {
+            capacity.release();
+        }
+    }
+}
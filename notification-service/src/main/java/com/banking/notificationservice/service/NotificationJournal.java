@@ -0,0 +1,141 @@
+package com.banking.notificationservice.service;
+
+import com.banking.core.dedupe.EventDeduplicator;
+import com.banking.core.id.TimeOrderedUuid;
+import com.banking.core.journal.GroupCommitJournal;
+import com.banking.notificationservice.model.NotificationEntity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind for new notifications: the records of a poll are processed concurrently, so their inserts are grouped
+ * into one JDBC batch per commit window instead of one Hibernate round trip each. A failing row only fails its own append.
+ * <p>
+ * Each batch claims its payment events in the same transaction as the inserts, so a redelivered event is dropped here,
+ * before anything is queued for sending, and a notification is stored exactly when its event is marked processed.
+ */
+@Service
+@Slf4j
+public class NotificationJournal {
+    private static final String INSERT_NOTIFICATION = """
+            INSERT INTO notifications
+                (id, payment_id, recipient_email, subject, content, status, attempts, last_error, created_at, sent_at,
+                 claimed_by, claimed_until)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventDeduplicator eventDeduplicator;
+    private final GroupCommitJournal<NotificationEntity> journal;
+    private final Map<UUID, UUID> eventIds = new ConcurrentHashMap<>();
+    private final Set<UUID> skipped = ConcurrentHashMap.newKeySet();
+    private final Timer appends;
+    private final DistributionSummary batchSizes;
+
+    public NotificationJournal(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            EventDeduplicator eventDeduplicator,
+            MeterRegistry meterRegistry,
+            @Value("${notification.journal.window-ms:2}") long windowMs,
+            @Value("${notification.journal.max-batch-size:500}") int maxBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventDeduplicator = eventDeduplicator;
+        this.journal = new GroupCommitJournal<>("notifications", this::writeBatch, Duration.ofMillis(windowMs), maxBatchSize);
+        this.appends = meterRegistry.timer("event.store.append", "store", "notification", "mode", "group-commit");
+        this.batchSizes = meterRegistry.summary("event.store.batch.size", "store", "notification");
+    }
+
+    // empty when the event was already claimed, by this or another instance, and the notification was not stored
+    public Optional<NotificationEntity> append(NotificationEntity notification, UUID eventId) {
+        if (notification.getId() == null) {
+            notification.setId(TimeOrderedUuid.next());
+        }
+        if (notification.getCreatedAt() == null) {
+            notification.setCreatedAt(LocalDateTime.now());
+        }
+
+        UUID id = notification.getId();
+        if (eventId != null) {
+            eventIds.put(id, eventId);
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            journal.append(List.of(notification)).join();
+            return skipped.contains(id) ? Optional.empty() : Optional.of(notification);
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to store notification for payment " + notification.getPaymentId(), e);
+        } finally {
+            eventIds.remove(id);
+            skipped.remove(id);
+            sample.stop(appends);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+
+    private void writeBatch(List<NotificationEntity> notifications) {
+        batchSizes.record(notifications.size());
+        // a batch that fails is written again one append at a time, so every attempt decides afresh
+        notifications.forEach(notification -> skipped.remove(notification.getId()));
+        List<NotificationEntity> stored = transactionTemplate.execute(status -> {
+            List<NotificationEntity> claimed = eventDeduplicator.claim(
+                    notifications, notification -> eventIds.get(notification.getId())
+            );
+            if (!claimed.isEmpty()) {
+                insert(claimed);
+            }
+            return claimed;
+        });
+        if (stored.size() < notifications.size()) {
+            Set<UUID> storedIds = stored.stream().map(NotificationEntity::getId).collect(Collectors.toSet());
+            notifications.stream()
+                    .map(NotificationEntity::getId)
+                    .filter(id -> !storedIds.contains(id))
+                    .forEach(skipped::add);
+        }
+        log.debug("Journal gravou {} de {} notificações", stored.size(), notifications.size());
+    }
+
+    private void insert(List<NotificationEntity> notifications) {
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, notifications, notifications.size(), (ps, notification) -> {
+            ps.setObject(1, notification.getId());
+            ps.setObject(2, notification.getPaymentId());
+            ps.setString(3, notification.getRecipientEmail());
+            ps.setString(4, notification.getSubject());
+            ps.setString(5, notification.getContent());
+            ps.setString(6, notification.getStatus().name());
+            ps.setInt(7, notification.getAttempts());
+            ps.setString(8, notification.getLastError());
+            ps.setObject(9, notification.getCreatedAt());
+            ps.setObject(10, notification.getSentAt());
+            ps.setString(11, notification.getClaimedBy());
+            ps.setObject(12, notification.getClaimedUntil());
+        });
+    }
+}
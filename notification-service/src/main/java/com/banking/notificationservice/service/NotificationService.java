@@ -2,21 +2,19 @@ package com.banking.notificationservice.service;
 
 import com.banking.core.event.PaymentProcessedEvent;
 import com.banking.notificationservice.model.NotificationEntity;
-import com.banking.notificationservice.notifier.EmailNotifier;
-import com.banking.notificationservice.repository.NotificationRepository;
+import com.banking.notificationservice.template.NotificationTemplate;
+import com.banking.notificationservice.template.NotificationTemplates;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
-    public final NotificationRepository notificationRepository;
-    private final EmailNotifier emailNotifier;
+    private final EmailDeliveryService emailDeliveryService;
+    private final NotificationTemplates templates;
 
     public void notifyPaymentProcessed( PaymentProcessedEvent event ) {
 
@@ -25,26 +23,20 @@ public class NotificationService {
             toEmail = "admin@banking.com";
         }
 
-        String subject = "Payment update: " + event.getStatus();
-        String content = String.format(
-                "Hi %s, \n\nYour payment ID %s has been processed. \nStatus: %s\nReason: %s",
-                event.getPayerEmail(),
-                event.getPaymentId(),
-                event.getStatus(),
-                event.getDescription()
-        );
-
-        emailNotifier.send(toEmail, subject, content);
+        NotificationTemplate template = templates.forStatus(event.getStatus());
+        String subject = template.renderSubject(event);
+        String content = template.renderBody(event);
 
-        NotificationEntity notificationEntity = NotificationEntity.builder()
+        // sent in the background; the listener only waits for the notification to be stored and queued
+        NotificationEntity notification = NotificationEntity.builder()
                 .paymentId(event.getPaymentId())
                 .recipientEmail(toEmail)
                 .subject(subject)
                 .content(content)
-                .sentAt(LocalDateTime.now())
                 .build();
-
-        notificationRepository.save(notificationEntity);
+        if (emailDeliveryService.submit(notification, event.getEventId()).isEmpty()) {
+            log.info("⏭️ Evento {} já notificado, ignorando", event.getEventId());
+        }
     }
 
 }
@@ -0,0 +1,76 @@
+package com.banking.notificationservice.template;
+
+import com.banking.core.event.PaymentProcessedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating literal and field segments:
+ * {@code literals[0] fields[0] literals[1] ... fields[n-1] literals[n]}.
+ * Rendering is a straight walk over the two arrays, with no parsing or format-string handling per message.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // UUIDs are the longest values a field usually expands to
+    private static final int FIELD_LENGTH_ESTIMATE = 36;
+
+    private final String[] literals;
+    private final TemplateField[] fields;
+    private final int estimatedLength;
+
+    private CompiledTemplate(String[] literals, TemplateField[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+
+        int length = fields.length * FIELD_LENGTH_ESTIMATE;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<TemplateField> fields = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + open + ": " + source);
+            }
+            literals.add(source.substring(position, open));
+            fields.add(TemplateField.fromPlaceholder(source.substring(open + OPEN.length(), close).trim()));
+            position = close + CLOSE.length();
+        }
+
+        return new CompiledTemplate(literals.toArray(String[]::new), fields.toArray(TemplateField[]::new));
+    }
+
+    public void renderTo(StringBuilder out, PaymentProcessedEvent event) {
+        for (int i = 0; i < fields.length; i++) {
+            out.append(literals[i]);
+            fields[i].appendTo(out, event);
+        }
+        out.append(literals[fields.length]);
+    }
+
+    public String render(PaymentProcessedEvent event) {
+        StringBuilder out = new StringBuilder(estimatedLength);
+        renderTo(out, event);
+        return out.toString();
+    }
+
+    public int estimatedLength() {
+        return estimatedLength;
+    }
+}
@@ -0,0 +1,17 @@
+package com.banking.notificationservice.template;
+
+import com.banking.core.event.PaymentProcessedEvent;
+
+public record NotificationTemplate(
+        CompiledTemplate subject,
+        CompiledTemplate body
+) {
+
+    public String renderSubject(PaymentProcessedEvent event) {
+        return subject.render(event);
+    }
+
+    public String renderBody(PaymentProcessedEvent event) {
+        return body.render(event);
+    }
+}
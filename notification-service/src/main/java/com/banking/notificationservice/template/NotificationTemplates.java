@@ -0,0 +1,144 @@
+package com.banking.notificationservice.template;
+
+import com.banking.core.enums.PaymentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Loads {@code templates/notifications[_lang[_COUNTRY]].properties} once at startup and compiles one
+ * subject/body pair per {@link PaymentStatus} and configured locale, plus a {@code default} pair for any
+ * other status. Keys are {@code <STATUS>.subject}/{@code <STATUS>.body}, falling back to
+ * {@code default.subject}/{@code default.body}; a more specific locale file wins over a less specific one,
+ * and the unsuffixed file is the last resort. Lookups never parse anything.
+ */
+@Component
+@Slf4j
+public class NotificationTemplates {
+
+    static final String BASE_NAME = "templates/notifications";
+    private static final String DEFAULT_KEY = "default";
+
+    private final Locale defaultLocale;
+    private final Map<Locale, Map<String, NotificationTemplate>> templates = new HashMap<>();
+
+    public NotificationTemplates(
+            @Value("${notification.templates.default-locale:en}") Locale defaultLocale,
+            @Value("${notification.templates.locales:en,pt-BR}") List<Locale> locales
+    ) {
+        this.defaultLocale = defaultLocale;
+
+        List<Locale> all = new ArrayList<>(locales);
+        if (!all.contains(defaultLocale)) {
+            all.add(defaultLocale);
+        }
+        for (Locale locale : all) {
+            templates.put(locale, compile(locale));
+        }
+
+        log.info("📝 Templates de notificação compilados para {} idioma(s): {}", templates.size(), templates.keySet());
+    }
+
+    public NotificationTemplate forStatus(String status) {
+        return forStatus(status, defaultLocale);
+    }
+
+    public NotificationTemplate forStatus(String status, Locale locale) {
+        Map<String, NotificationTemplate> byStatus = locale == null ? null : templates.get(locale);
+        if (byStatus == null && locale != null) {
+            byStatus = templates.get(Locale.of(locale.getLanguage()));
+        }
+        if (byStatus == null) {
+            byStatus = templates.get(defaultLocale);
+        }
+
+        NotificationTemplate template = status == null ? null : byStatus.get(status);
+        return template != null ? template : byStatus.get(DEFAULT_KEY);
+    }
+
+    private static Map<String, NotificationTemplate> compile(Locale locale) {
+        List<Properties> bundles = loadBundles(locale);
+
+        NotificationTemplate fallback = compile(bundles, DEFAULT_KEY);
+        Map<String, NotificationTemplate> byStatus = new HashMap<>();
+        byStatus.put(DEFAULT_KEY, fallback);
+        for (PaymentStatus status : PaymentStatus.values()) {
+            // statuses without their own keys share the default instance
+            byStatus.put(status.name(), hasVariant(bundles, status.name()) ? compile(bundles, status.name()) : fallback);
+        }
+        return Map.copyOf(byStatus);
+    }
+
+    private static boolean hasVariant(List<Properties> bundles, String status) {
+        return bundles.stream().anyMatch(bundle ->
+                bundle.containsKey(status + ".subject") || bundle.containsKey(status + ".body"));
+    }
+
+    private static NotificationTemplate compile(List<Properties> bundles, String status) {
+        return new NotificationTemplate(
+                CompiledTemplate.compile(lookup(bundles, status, "subject")),
+                CompiledTemplate.compile(lookup(bundles, status, "body"))
+        );
+    }
+
+    private static String lookup(List<Properties> bundles, String status, String part) {
+        for (Properties bundle : bundles) {
+            String value = bundle.getProperty(status + "." + part);
+            if (value == null) {
+                value = bundle.getProperty(DEFAULT_KEY + "." + part);
+            }
+            if (value != null) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Missing notification template '" + DEFAULT_KEY + "." + part + "' in " + BASE_NAME);
+    }
+
+    // most specific first: notifications_pt_BR, notifications_pt, notifications
+    private static List<Properties> loadBundles(Locale locale) {
+        List<String> names = new ArrayList<>();
+        if (!locale.getCountry().isEmpty()) {
+            names.add(BASE_NAME + "_" + locale.getLanguage() + "_" + locale.getCountry());
+        }
+        if (!locale.getLanguage().isEmpty()) {
+            names.add(BASE_NAME + "_" + locale.getLanguage());
+        }
+        names.add(BASE_NAME);
+
+        List<Properties> bundles = new ArrayList<>();
+        for (String name : names) {
+            Properties bundle = load(name + ".properties");
+            if (bundle != null) {
+                bundles.add(bundle);
+            }
+        }
+        return bundles;
+    }
+
+    private static Properties load(String resource) {
+        InputStream in = NotificationTemplates.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read notification templates from " + resource, e);
+        }
+    }
+}
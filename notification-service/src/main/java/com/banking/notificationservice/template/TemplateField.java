@@ -0,0 +1,42 @@
+package com.banking.notificationservice.template;
+
+import com.banking.core.event.PaymentProcessedEvent;
+
+import java.util.function.Function;
+
+public enum TemplateField {
+    PAYER_EMAIL("payerEmail", PaymentProcessedEvent::getPayerEmail),
+    PAYMENT_ID("paymentId", PaymentProcessedEvent::getPaymentId),
+    PAYER_ID("payerId", PaymentProcessedEvent::getPayerId),
+    PAYEE_ID("payeeId", PaymentProcessedEvent::getPayeeId),
+    AMOUNT("amount", PaymentProcessedEvent::getAmount),
+    CURRENCY("currency", PaymentProcessedEvent::getCurrency),
+    STATUS("status", PaymentProcessedEvent::getStatus),
+    DESCRIPTION("description", PaymentProcessedEvent::getDescription);
+
+    private final String placeholder;
+    private final Function<PaymentProcessedEvent, Object> accessor;
+
+    TemplateField(String placeholder, Function<PaymentProcessedEvent, Object> accessor) {
+        this.placeholder = placeholder;
+        this.accessor = accessor;
+    }
+
+    public String placeholder() {
+        return placeholder;
+    }
+
+    // same output as %s: missing values render as "null"
+    void appendTo(StringBuilder out, PaymentProcessedEvent event) {
+        out.append(accessor.apply(event));
+    }
+
+    static TemplateField fromPlaceholder(String placeholder) {
+        for (TemplateField field : values()) {
+            if (field.placeholder.equals(placeholder)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown template placeholder: {{" + placeholder + "}}");
+    }
+}
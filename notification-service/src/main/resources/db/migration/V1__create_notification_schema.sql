@@ -0,0 +1,17 @@
+-- Notificações enviadas (payments pertence ao payment-service, por isso sem foreign key)
+CREATE TABLE IF NOT EXISTS notifications (
+    id UUID PRIMARY KEY,
+    payment_id UUID NOT NULL,
+    recipient_email VARCHAR(255),
+    subject VARCHAR(255),
+    content TEXT,
+    sent_at TIMESTAMP
+);
+
+-- Eventos Kafka já processados (deduplicação)
+CREATE TABLE IF NOT EXISTS notification_processed_events (
+    event_id UUID PRIMARY KEY,
+    processed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_processed_events_processed_at ON notification_processed_events (processed_at);
@@ -0,0 +1,13 @@
+-- Status de entrega assíncrona; notificações anteriores já tinham sido enviadas
+ALTER TABLE notifications
+    ADD COLUMN IF NOT EXISTS status VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS last_error TEXT,
+    ADD COLUMN IF NOT EXISTS created_at TIMESTAMP NOT NULL DEFAULT NOW();
+
+UPDATE notifications SET status = 'SENT' WHERE status IS NULL;
+
+ALTER TABLE notifications ALTER COLUMN status SET NOT NULL;
+
+-- notificações pendentes reenfileiradas na subida do serviço
+CREATE INDEX IF NOT EXISTS idx_notifications_status ON notifications (status, created_at);
@@ -0,0 +1,4 @@
+-- Instância que está entregando cada notificação pendente e até quando; uma concessão vencida pode ser assumida por outra
+ALTER TABLE notifications
+    ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
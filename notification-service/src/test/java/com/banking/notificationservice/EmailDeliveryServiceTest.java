@@ -0,0 +1,245 @@
+package com.banking.notificationservice;
+
+import com.banking.notificationservice.exception.EmailDeliveryException;
+import com.banking.notificationservice.interfaces.UnitTest;
+import com.banking.notificationservice.model.NotificationEntity;
+import com.banking.notificationservice.model.NotificationStatus;
+import com.banking.notificationservice.notifier.EmailMessage;
+import com.banking.notificationservice.notifier.EmailNotifier;
+import com.banking.notificationservice.repository.NotificationRepository;
+import com.banking.notificationservice.service.EmailDeliveryService;
+import com.banking.notificationservice.service.NotificationJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class EmailDeliveryServiceTest {
+
+    @Mock private EmailNotifier emailNotifier;
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private NotificationJournal notificationJournal;
+
+    private EmailDeliveryService deliveryService;
+
+    private EmailDeliveryService deliveryService(int capacity, int maxAttempts) {
+        return deliveryService(capacity, maxAttempts, false, 0, 1);
+    }
+
+    private EmailDeliveryService digestService(long windowMs, int maxMessages) {
+        return deliveryService(10, 3, true, windowMs, maxMessages);
+    }
+
+    private EmailDeliveryService deliveryService(int capacity, int maxAttempts, boolean digest, long windowMs, int maxMessages) {
+        when(notificationJournal.append(any(), any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+        deliveryService = new EmailDeliveryService(
+                emailNotifier, notificationRepository, notificationJournal, new SimpleMeterRegistry(),
+                1, capacity, 10, 50, maxAttempts, 1, 2, 10, 60_000, digest, windowMs, maxMessages
+        );
+        return deliveryService;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (deliveryService != null) {
+            deliveryService.close();
+        }
+    }
+
+    private NotificationEntity notification() {
+        return notification("user@test.com");
+    }
+
+    private NotificationEntity notification(String recipient) {
+        return NotificationEntity.builder()
+                .id(UUID.randomUUID())
+                .paymentId(UUID.randomUUID())
+                .recipientEmail(recipient)
+                .subject("Payment update: APPROVED")
+                .content("body")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("Should journal the notification as pending and mark it sent once delivered")
+        @SuppressWarnings("unchecked")
+        void shouldDeliverAndMarkSent() {
+            when(emailNotifier.sendAll(anyList())).thenReturn(Map.of());
+            NotificationEntity notification = notification();
+
+            NotificationEntity queued = deliveryService(10, 3).submit(notification, UUID.randomUUID()).orElseThrow();
+
+            assertEquals(NotificationStatus.PENDING, queued.getStatus());
+            assertNotNull(queued.getClaimedBy());
+            assertTrue(queued.getClaimedUntil().isAfter(LocalDateTime.now()));
+            verify(notificationJournal).append(eq(notification), any());
+            ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+            verify(notificationRepository, timeout(1000)).markSent(ids.capture(), any());
+            assertEquals(List.of(notification.getId()), List.copyOf(ids.getValue()));
+        }
+
+        @UnitTest
+        @DisplayName("Should retry a failed send and give up after max attempts")
+        void shouldRetryThenFail() {
+            when(emailNotifier.sendAll(anyList())).thenReturn(Map.of(0, new IllegalStateException("SMTP down")));
+            NotificationEntity notification = notification();
+
+            deliveryService(10, 3).submit(notification, UUID.randomUUID());
+
+            verify(emailNotifier, timeout(1000).times(3)).sendAll(anyList());
+            verify(notificationRepository, timeout(1000))
+                    .recordAttempt(notification.getId(), NotificationStatus.FAILED, 3, "SMTP down");
+            verify(notificationRepository, times(2))
+                    .recordAttempt(eq(notification.getId()), eq(NotificationStatus.PENDING), anyInt(), eq("SMTP down"));
+            assertEquals(NotificationStatus.FAILED, notification.getStatus());
+            assertEquals(3, notification.getAttempts());
+            assertEquals("SMTP down", notification.getLastError());
+            verify(notificationRepository, never()).markSent(any(), any());
+        }
+
+        @UnitTest
+        @DisplayName("Should reject new notifications while the queue is full")
+        void shouldRejectWhenQueueIsFull() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            when(emailNotifier.sendAll(anyList())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return Map.of();
+            });
+            EmailDeliveryService service = deliveryService(1, 3);
+            service.submit(notification(), UUID.randomUUID());
+
+            assertThrows(EmailDeliveryException.class, () -> service.submit(notification(), UUID.randomUUID()));
+
+            release.countDown();
+            verify(notificationRepository, timeout(1000)).markSent(any(), any());
+        }
+
+        @UnitTest
+        @DisplayName("Should neither send nor hold capacity for an event that was already notified")
+        void shouldSkipAlreadyNotifiedEvent() {
+            EmailDeliveryService service = deliveryService(1, 3);
+            doReturn(Optional.empty()).when(notificationJournal).append(any(), any());
+
+            assertTrue(service.submit(notification(), UUID.randomUUID()).isEmpty());
+            assertTrue(service.submit(notification(), UUID.randomUUID()).isEmpty());
+
+            verifyNoInteractions(emailNotifier);
+        }
+
+        @UnitTest
+        @DisplayName("Should send only the pending notifications this instance managed to claim")
+        @SuppressWarnings("unchecked")
+        void shouldRequeueClaimedPendingNotifications() {
+            when(emailNotifier.sendAll(anyList())).thenReturn(Map.of());
+            EmailDeliveryService service = deliveryService(10, 3);
+            NotificationEntity pending = notification();
+            pending.setStatus(NotificationStatus.PENDING);
+            pending.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+            when(notificationRepository.claimPending(anyString(), any(), any(), anyInt())).thenReturn(List.of(pending));
+
+            service.requeuePending();
+
+            verify(notificationRepository).claimPending(anyString(), any(), any(), eq(10));
+            ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+            verify(notificationRepository, timeout(1000)).markSent(ids.capture(), any());
+            assertEquals(List.of(pending.getId()), List.copyOf(ids.getValue()));
+        }
+
+        @UnitTest
+        @DisplayName("Should renew the leases of the notifications it still holds")
+        void shouldRenewLeasesOfHeldNotifications() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            when(emailNotifier.sendAll(anyList())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return Map.of();
+            });
+            EmailDeliveryService service = deliveryService(10, 3);
+            NotificationEntity notification = service.submit(notification(), UUID.randomUUID()).orElseThrow();
+
+            service.renewLeases();
+
+            verify(notificationRepository).renewLeases(
+                    eq(List.of(notification.getId())), eq(notification.getClaimedBy()), any(LocalDateTime.class)
+            );
+            release.countDown();
+        }
+
+        @UnitTest
+        @DisplayName("Should send one digest per recipient once its message threshold is reached")
+        @SuppressWarnings("unchecked")
+        void shouldCoalesceDigestOnCount() {
+            when(emailNotifier.sendAll(anyList())).thenReturn(Map.of());
+            EmailDeliveryService service = digestService(10_000, 3);
+            List<NotificationEntity> payer = List.of(notification(), notification(), notification());
+
+            payer.forEach(notification -> service.submit(notification, UUID.randomUUID()));
+            service.submit(notification("other@test.com"), UUID.randomUUID());
+
+            ArgumentCaptor<List<EmailMessage>> sent = ArgumentCaptor.forClass(List.class);
+            verify(emailNotifier, timeout(1000)).sendAll(sent.capture());
+            assertEquals(1, sent.getValue().size());
+            EmailMessage digest = sent.getValue().getFirst();
+            assertEquals("user@test.com", digest.to());
+            assertEquals("Payment updates: 3 payments", digest.subject());
+
+            ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+            verify(notificationRepository, timeout(1000)).markSent(ids.capture(), any());
+            assertEquals(payer.stream().map(NotificationEntity::getId).toList(), List.copyOf(ids.getValue()));
+        }
+
+        @UnitTest
+        @DisplayName("Should not hold queue capacity while a notification waits in its digest")
+        void shouldReleaseCapacityWhenDigested() {
+            when(emailNotifier.sendAll(anyList())).thenReturn(Map.of());
+            EmailDeliveryService service = deliveryService(1, 3, true, 10_000, 3);
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue(service.submit(notification(), UUID.randomUUID()).isPresent());
+            }
+
+            verify(notificationRepository, timeout(1000)).markSent(any(), any());
+            assertDoesNotThrow(() -> service.submit(notification("other@test.com"), UUID.randomUUID()));
+        }
+
+        @UnitTest
+        @DisplayName("Should send a partial digest when its window closes")
+        @SuppressWarnings("unchecked")
+        void shouldSendDigestWhenWindowCloses() {
+            when(emailNotifier.sendAll(anyList())).thenReturn(Map.of());
+            EmailDeliveryService service = digestService(50, 50);
+
+            service.submit(notification(), UUID.randomUUID());
+            service.submit(notification(), UUID.randomUUID());
+
+            ArgumentCaptor<List<EmailMessage>> sent = ArgumentCaptor.forClass(List.class);
+            verify(emailNotifier, timeout(1000)).sendAll(sent.capture());
+            assertEquals(1, sent.getValue().size());
+            assertTrue(sent.getValue().getFirst().body().startsWith("2 payment updates"));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.banking.notificationservice;
+
+import com.banking.core.dedupe.EventDeduplicator;
+import com.banking.core.dedupe.ProcessedEventLog;
+import com.banking.notificationservice.interfaces.UnitTest;
+import com.banking.notificationservice.model.NotificationEntity;
+import com.banking.notificationservice.model.NotificationStatus;
+import com.banking.notificationservice.service.NotificationJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationJournalTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ProcessedEventLog processedEventLog;
+
+    private NotificationJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        EventDeduplicator eventDeduplicator = new EventDeduplicator(processedEventLog, 1_000, 0.01);
+        journal = new NotificationJournal(jdbcTemplate, transactionManager, eventDeduplicator, new SimpleMeterRegistry(), 2, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    private NotificationEntity notification() {
+        return NotificationEntity.builder()
+                .paymentId(UUID.randomUUID())
+                .recipientEmail("user@test.com")
+                .subject("Payment update: APPROVED")
+                .content("body")
+                .status(NotificationStatus.PENDING)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("Should assign a time-ordered id and insert the notification with a JDBC batch")
+        @SuppressWarnings("unchecked")
+        void shouldInsertWithBatch() {
+            NotificationEntity notification = notification();
+            UUID eventId = UUID.randomUUID();
+            when(processedEventLog.claim(argThat(ids -> ids.contains(eventId)))).thenReturn(Set.of(eventId));
+
+            NotificationEntity stored = journal.append(notification, eventId).orElseThrow();
+
+            assertEquals(7, stored.getId().version());
+            assertNotNull(stored.getCreatedAt());
+            ArgumentCaptor<Collection<NotificationEntity>> batch = ArgumentCaptor.forClass(Collection.class);
+            verify(jdbcTemplate).batchUpdate(contains("INSERT INTO notifications"), batch.capture(), eq(1),
+                    any(ParameterizedPreparedStatementSetter.class));
+            assertEquals(List.of(notification), List.copyOf(batch.getValue()));
+        }
+
+        @UnitTest
+        @DisplayName("Should fail the append when its row cannot be inserted")
+        void shouldFailWhenInsertFails() {
+            when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+            assertThrows(IllegalStateException.class, () -> journal.append(notification(), null));
+        }
+
+        @UnitTest
+        @DisplayName("Should not store a notification whose event was already claimed")
+        void shouldSkipAlreadyClaimedEvent() {
+            UUID eventId = UUID.randomUUID();
+            when(processedEventLog.claim(argThat(ids -> ids.contains(eventId)))).thenReturn(Set.of());
+
+            assertTrue(journal.append(notification(), eventId).isEmpty());
+
+            verifyNoInteractions(jdbcTemplate);
+        }
+    }
+}
@@ -1,34 +1,36 @@
 package com.banking.notificationservice;
 
 import com.banking.core.event.PaymentProcessedEvent;
+import com.banking.notificationservice.exception.EmailDeliveryException;
 import com.banking.notificationservice.interfaces.UnitTest;
 import com.banking.notificationservice.model.NotificationEntity;
-import com.banking.notificationservice.notifier.EmailNotifier;
-import com.banking.notificationservice.repository.NotificationRepository;
+import com.banking.notificationservice.service.EmailDeliveryService;
 import com.banking.notificationservice.service.NotificationService;
+import com.banking.notificationservice.template.NotificationTemplates;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class NotificationServiceTest {
 
-    @Mock
-    private NotificationRepository notificationRepository;
-
-    @Mock private EmailNotifier emailNotifier;
+    @Mock private EmailDeliveryService emailDeliveryService;
+    @Spy private NotificationTemplates templates = new NotificationTemplates(Locale.ENGLISH, List.of(Locale.ENGLISH));
 
     @InjectMocks
     private NotificationService notificationService;
@@ -38,7 +40,7 @@ public class NotificationServiceTest {
     class UnitTests {
 
         @UnitTest
-        @DisplayName("Should send email and save notification when payer email is present")
+        @DisplayName("Should queue the notification for the payer when payer email is present")
         void shouldNotifyPaymentProcessed_WithValidEmail() {
             UUID paymentId = UUID.randomUUID();
             String payerEmail = "user@test.com";
@@ -55,17 +57,14 @@ public class NotificationServiceTest {
 
             notificationService.notifyPaymentProcessed(event);
 
-            verify(emailNotifier).send(eq(payerEmail), any(String.class), any(String.class));
-
             ArgumentCaptor<NotificationEntity> entityCaptor = ArgumentCaptor.forClass(NotificationEntity.class);
-            verify(notificationRepository).save(entityCaptor.capture());
-
-            NotificationEntity savedEntity = entityCaptor.getValue();
-            assertEquals(paymentId, savedEntity.getPaymentId());
-            assertEquals(payerEmail, savedEntity.getRecipientEmail());
-            assertTrue(savedEntity.getContent().contains(paymentId.toString()));
-            assertTrue(savedEntity.getSubject().contains(status));
-            assertNotNull(savedEntity.getSentAt());
+            verify(emailDeliveryService).submit(entityCaptor.capture(), any());
+
+            NotificationEntity queuedEntity = entityCaptor.getValue();
+            assertEquals(paymentId, queuedEntity.getPaymentId());
+            assertEquals(payerEmail, queuedEntity.getRecipientEmail());
+            assertTrue(queuedEntity.getContent().contains(paymentId.toString()));
+            assertTrue(queuedEntity.getSubject().contains(status));
         }
 
         @UnitTest
@@ -84,19 +83,17 @@ public class NotificationServiceTest {
 
             notificationService.notifyPaymentProcessed(event);
 
-            verify(emailNotifier).send(eq("admin@banking.com"), any(String.class), any(String.class));
-
             ArgumentCaptor<NotificationEntity> entityCaptor = ArgumentCaptor.forClass(NotificationEntity.class);
-            verify(notificationRepository).save(entityCaptor.capture());
+            verify(emailDeliveryService).submit(entityCaptor.capture(), any());
 
-            NotificationEntity savedEntity = entityCaptor.getValue();
-            assertEquals("admin@banking.com", savedEntity.getRecipientEmail());
-            assertEquals(paymentId, savedEntity.getPaymentId());
+            NotificationEntity queuedEntity = entityCaptor.getValue();
+            assertEquals("admin@banking.com", queuedEntity.getRecipientEmail());
+            assertEquals(paymentId, queuedEntity.getPaymentId());
         }
 
         @UnitTest
-        @DisplayName("Should NOT save notification when email sending fails")
-        void shouldNotSaveNotification_WhenEmailNotifierFails() {
+        @DisplayName("Should propagate exception when the delivery queue stays full")
+        void shouldPropagateException_WhenDeliveryQueueIsFull() {
             PaymentProcessedEvent event = PaymentProcessedEvent.builder()
                     .paymentId(UUID.randomUUID())
                     .payerEmail("user@test.com")
@@ -104,16 +101,14 @@ public class NotificationServiceTest {
                     .description("Success")
                     .build();
 
-            doThrow(new RuntimeException("Email server down"))
-                    .when(emailNotifier).send(any(), any(), any());
+            doThrow(new EmailDeliveryException("Email delivery queue is full"))
+                    .when(emailDeliveryService).submit(any(), any());
 
-            assertThrows(RuntimeException.class, () -> notificationService.notifyPaymentProcessed(event));
-
-            verify(notificationRepository, never()).save(any());
+            assertThrows(EmailDeliveryException.class, () -> notificationService.notifyPaymentProcessed(event));
         }
 
         @UnitTest
-        @DisplayName("Should propagate exception when repository save fails")
+        @DisplayName("Should propagate exception when storing the notification fails")
         void shouldPropagateException_WhenRepositoryFails() {
             PaymentProcessedEvent event = PaymentProcessedEvent.builder()
                     .paymentId(UUID.randomUUID())
@@ -121,13 +116,10 @@ public class NotificationServiceTest {
                     .status("COMPLETED")
                     .build();
 
-            doNothing().when(emailNotifier).send(any(), any(), any());
             doThrow(new RuntimeException("Database connection error"))
-                    .when(notificationRepository).save(any());
+                    .when(emailDeliveryService).submit(any(), any());
 
             assertThrows(RuntimeException.class, () -> notificationService.notifyPaymentProcessed(event));
-
-            verify(emailNotifier).send(any(), any(), any());
         }
 
         @UnitTest
@@ -154,10 +146,11 @@ public class NotificationServiceTest {
 
             notificationService.notifyPaymentProcessed(event);
 
-            ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
-            verify(emailNotifier).send(eq(email), any(), contentCaptor.capture());
+            ArgumentCaptor<NotificationEntity> entityCaptor = ArgumentCaptor.forClass(NotificationEntity.class);
+            verify(emailDeliveryService).submit(entityCaptor.capture(), any());
 
-            String sentContent = contentCaptor.getValue();
+            assertEquals(email, entityCaptor.getValue().getRecipientEmail());
+            String sentContent = entityCaptor.getValue().getContent();
 
             assertTrue(sentContent.contains(paymentId.toString()), "Email body should contain Payment ID");
             assertTrue(sentContent.contains(status), "Email body should contain Status");
@@ -165,8 +158,8 @@ public class NotificationServiceTest {
         }
 
         @UnitTest
-        @DisplayName("Should respect execution order: Email first, then Save")
-        void shouldRespectExecutionOrder() {
+        @DisplayName("Should leave sending to the delivery queue")
+        void shouldNotMarkNotificationSentWhenQueued() {
             PaymentProcessedEvent event = PaymentProcessedEvent.builder()
                     .paymentId(UUID.randomUUID())
                     .payerEmail("order@test.com")
@@ -174,11 +167,12 @@ public class NotificationServiceTest {
                     .build();
 
             notificationService.notifyPaymentProcessed(event);
-            org.mockito.InOrder inOrder = org.mockito.Mockito.inOrder(emailNotifier, notificationRepository);
 
-            inOrder.verify(emailNotifier).send(any(), any(), any());
+            ArgumentCaptor<NotificationEntity> entityCaptor = ArgumentCaptor.forClass(NotificationEntity.class);
+            verify(emailDeliveryService).submit(entityCaptor.capture(), any());
 
-            inOrder.verify(notificationRepository).save(any());
+            assertNull(entityCaptor.getValue().getSentAt());
+            assertEquals(0, entityCaptor.getValue().getAttempts());
         }
 
         @UnitTest
@@ -193,8 +187,9 @@ public class NotificationServiceTest {
 
             notificationService.notifyPaymentProcessed(event);
 
-            verify(emailNotifier).send(eq(""), any(), any());
-            verify(emailNotifier, never()).send(eq("admin@banking.com"), any(), any());
+            verify(emailDeliveryService).submit(argThat(notification -> "".equals(notification.getRecipientEmail())), any());
+            verify(emailDeliveryService, never()).submit(argThat(notification ->
+                    "admin@banking.com".equals(notification.getRecipientEmail())), any());
         }
 
     }
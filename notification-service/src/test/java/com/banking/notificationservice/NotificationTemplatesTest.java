@@ -0,0 +1,100 @@
+package com.banking.notificationservice;
+
+import com.banking.core.event.PaymentProcessedEvent;
+import com.banking.notificationservice.interfaces.UnitTest;
+import com.banking.notificationservice.template.CompiledTemplate;
+import com.banking.notificationservice.template.NotificationTemplate;
+import com.banking.notificationservice.template.NotificationTemplates;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationTemplatesTest {
+
+    private static final Locale PT_BR = Locale.of("pt", "BR");
+
+    private final NotificationTemplates templates = new NotificationTemplates(Locale.ENGLISH, List.of(Locale.ENGLISH, PT_BR));
+
+    private PaymentProcessedEvent event(String status) {
+        return PaymentProcessedEvent.builder()
+                .paymentId(UUID.randomUUID())
+                .payerEmail("user@test.com")
+                .amount(new BigDecimal("149.90"))
+                .currency("BRL")
+                .status(status)
+                .description("Payment successful")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("Should render the default template exactly like the previous String.format output")
+        void shouldRenderDefaultTemplateLikeLegacyFormat() {
+            PaymentProcessedEvent event = event("COMPLETED");
+            event.setDescription(null);
+
+            NotificationTemplate template = templates.forStatus(event.getStatus());
+
+            assertEquals("Payment update: COMPLETED", template.renderSubject(event));
+            assertEquals(String.format(
+                    "Hi %s, \n\nYour payment ID %s has been processed. \nStatus: %s\nReason: %s",
+                    event.getPayerEmail(), event.getPaymentId(), event.getStatus(), event.getDescription()
+            ), template.renderBody(event));
+        }
+
+        @UnitTest
+        @DisplayName("Should keep English APPROVED and REJECTED on the default text and fall back to default for unknown or null statuses")
+        void shouldResolvePerStatusVariants() {
+            PaymentProcessedEvent event = event("APPROVED");
+
+            assertEquals("Payment update: APPROVED", templates.forStatus("APPROVED").renderSubject(event));
+            assertSame(templates.forStatus("PENDING"), templates.forStatus("APPROVED"));
+            assertSame(templates.forStatus("PENDING"), templates.forStatus("REJECTED"));
+            assertEquals("Pagamento aprovado: 149.90 BRL", templates.forStatus("APPROVED", PT_BR).renderSubject(event));
+            assertSame(templates.forStatus("PENDING"), templates.forStatus("SOMETHING_ELSE"));
+            assertSame(templates.forStatus("PENDING"), templates.forStatus(null));
+        }
+
+        @UnitTest
+        @DisplayName("Should use the locale variant and fall back to the default locale when unknown")
+        void shouldResolveLocaleVariants() {
+            PaymentProcessedEvent event = event("REJECTED");
+
+            assertEquals("Pagamento recusado: 149.90 BRL", templates.forStatus("REJECTED", PT_BR).renderSubject(event));
+            assertTrue(templates.forStatus("PENDING", PT_BR).renderBody(event).startsWith("Olá user@test.com"));
+            assertSame(templates.forStatus("REJECTED"), templates.forStatus("REJECTED", Locale.JAPANESE));
+        }
+
+        @UnitTest
+        @DisplayName("Should append into a reused buffer")
+        void shouldRenderIntoReusedBuffer() {
+            CompiledTemplate template = CompiledTemplate.compile("{{status}}:{{ paymentId }}");
+            PaymentProcessedEvent event = event("APPROVED");
+            StringBuilder out = new StringBuilder();
+
+            template.renderTo(out, event);
+            out.setLength(0);
+            template.renderTo(out, event);
+
+            assertEquals("APPROVED:" + event.getPaymentId(), out.toString());
+        }
+
+        @UnitTest
+        @DisplayName("Should reject unknown or unclosed placeholders at compile time")
+        void shouldRejectInvalidTemplates() {
+            assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hi {{nickname}}"));
+            assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hi {{payerEmail"));
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.banking.notificationservice;
+
+import com.banking.notificationservice.interfaces.UnitTest;
+import com.banking.notificationservice.notifier.EmailMessage;
+import com.banking.notificationservice.notifier.StmpEmailNotifier;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StmpEmailNotifierTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StmpEmailNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        notifier = new StmpEmailNotifier(mailSender, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notifier.close();
+    }
+
+    private double connections() {
+        return meterRegistry.counter("notification.smtp.connections").count();
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("Should send consecutive batches over the same SMTP connection")
+        void shouldReuseConnectionAcrossBatches() throws Exception {
+            Map<Integer, Exception> first = notifier.sendAll(List.of(
+                    new EmailMessage("a@test.com", "Payment update: APPROVED", "first"),
+                    new EmailMessage("b@test.com", "Payment update: APPROVED", "second")
+            ));
+            Map<Integer, Exception> second = notifier.sendAll(List.of(
+                    new EmailMessage("c@test.com", "Payment update: REJECTED", "third")
+            ));
+
+            assertTrue(first.isEmpty());
+            assertTrue(second.isEmpty());
+            MimeMessage[] received = greenMail.getReceivedMessages();
+            assertEquals(3, received.length);
+            assertEquals("Payment update: REJECTED", received[2].getSubject());
+            assertEquals(1.0, connections());
+        }
+
+        @UnitTest
+        @DisplayName("Should report every message as failed when the server is unreachable")
+        void shouldReportFailuresWhenServerIsDown() {
+            greenMail.stop();
+
+            Map<Integer, Exception> failures = notifier.sendAll(List.of(
+                    new EmailMessage("a@test.com", "subject", "body"),
+                    new EmailMessage("b@test.com", "subject", "body")
+            ));
+
+            assertEquals(2, failures.size());
+            assertEquals(0.0, connections());
+        }
+
+        @UnitTest
+        @DisplayName("Should reconnect when the pooled connection was closed by the server")
+        void shouldReconnectAfterServerRestart() {
+            notifier.send("a@test.com", "subject", "before restart");
+            greenMail.reset();
+
+            notifier.send("b@test.com", "subject", "after restart");
+
+            assertEquals(1, greenMail.getReceivedMessages().length);
+            assertEquals(2.0, connections());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.payment.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+public class MerchantClient {
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    public MerchantClient(
+            HttpClient merchantHttpClient,
+            @Value("${merchant-service.base-url:http://merchant-service:8082}") String baseUrl,
+            @Value("${merchant-service.request-timeout-ms:3000}") long requestTimeoutMs
+    ) {
+        this.httpClient = merchantHttpClient;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+    }
+
+    public CompletableFuture<Boolean> debit(UUID merchantId, BigDecimal amount) {
+        return post(merchantId, "debit", amount);
+    }
+
+    public CompletableFuture<Boolean> credit(UUID merchantId, BigDecimal amount) {
+        return post(merchantId, "credit", amount);
+    }
+
+    private CompletableFuture<Boolean> post(UUID merchantId, String operation, BigDecimal amount) {
+        URI uri = URI.create(baseUrl + "/api/merchants/" + merchantId + "/" + operation);
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":" + amount.toPlainString() + "}"))
+                .build();
+
+        log.info("🌐 [MERCHANT CALL] {} {} amount={}", operation.toUpperCase(), uri, amount);
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    boolean success = response.statusCode() / 100 == 2;
+                    log.info("📥 [MERCHANT CALL] {} {} -> {}", operation.toUpperCase(), merchantId, response.statusCode());
+                    return success;
+                })
+                .exceptionally(e -> {
+                    log.error("❌ [MERCHANT CALL] {} {} failed: {}", operation.toUpperCase(), uri, e.getMessage());
+                    return false;
+                });
+    }
+}
@@ -1,14 +1,144 @@
 package com.banking.payment.config;
 
+import com.banking.core.concurrent.KeyOrderedExecutor;
+import com.banking.core.dedupe.EventDeduplicator;
+import com.banking.core.dedupe.JdbcProcessedEventLog;
+import com.banking.core.dedupe.ProcessedEventLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
 
 @Configuration
+@EnableScheduling
 public class PaymentConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient merchantHttpClient(
+            @Value("${merchant-service.connect-timeout-ms:1000}") long connectTimeoutMs
+    ) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @Bean
+    public NewTopic paymentCreatedTopic(@Value("${kafka.topics.partitions:6}") int partitions) {
+        return TopicBuilder.name("payment-created").partitions(partitions).replicas(1).build();
+    }
+
+    @Bean
+    public NewTopic paymentProcessedTopic(@Value("${kafka.topics.partitions:6}") int partitions) {
+        return TopicBuilder.name("payment-processed").partitions(partitions).replicas(1).build();
+    }
+
+    // a single attempt: a failed record goes to the retry topics, whose back-off tiers are the only retries
+    @Bean
+    public KeyOrderedExecutor listenerExecutor(MeterRegistry meterRegistry) {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor("payment-listener", 1);
+        Gauge.builder("kafka.listener.active.keys", executor, KeyOrderedExecutor::activeKeys)
+                .description("Keys with records still being processed or queued behind one")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    @Bean
+    public JdbcProcessedEventLog processedEventLog(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${kafka.dedupe.retention-hours:168}") long retentionHours
+    ) {
+        return new JdbcProcessedEventLog(jdbcTemplate, "payment_processed_events", Duration.ofHours(retentionHours));
+    }
+
+    @Bean
+    public EventDeduplicator eventDeduplicator(
+            ProcessedEventLog processedEventLog,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.dedupe.recent-events:1000000}") int recentEvents,
+            @Value("${kafka.dedupe.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        EventDeduplicator deduplicator = new EventDeduplicator(processedEventLog, recentEvents, falsePositiveRate);
+        FunctionCounter.builder("kafka.listener.duplicates", deduplicator, EventDeduplicator::duplicates)
+                .description("Redelivered events skipped because they were already processed")
+                .register(meterRegistry);
+        FunctionCounter.builder("kafka.listener.dedupe.lookups", deduplicator, EventDeduplicator::lookups)
+                .description("Event ids checked against the processed-events table after a bloom filter hit")
+                .register(meterRegistry);
+        return deduplicator;
+    }
+
+    @Bean
+    public RetryTopicConfiguration paymentCreatedRetryTopics(
+            ProducerFactory<?, ?> producerFactory,
+            @Value("${kafka.retry.attempts:4}") int attempts,
+            @Value("${kafka.retry.delay-ms:1000}") long delayMs,
+            @Value("${kafka.retry.multiplier:5}") double multiplier,
+            @Value("${kafka.retry.max-delay-ms:60000}") long maxDelayMs,
+            @Value("${kafka.topics.partitions:6}") int partitions
+    ) {
+        // tiers are named by index rather than by delay, so a redrive can address the first one without the back-off
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopic("payment-created")
+                .maxAttempts(attempts)
+                .exponentialBackoff(delayMs, multiplier, maxDelayMs)
+                .retryTopicSuffix("-saga-retry")
+                .suffixTopicsWithIndexValues()
+                .dltSuffix("-saga-dlt")
+                .autoCreateTopicsWith(partitions, (short) 1)
+                .create(deadLetterTemplate(producerFactory));
+    }
+
+    // records are acknowledged out of order as their keys finish; the container commits only gap-free offsets
+    // and pauses the consumer until the previous poll is fully acknowledged
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory
+    ) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    // retry and dead-letter topics carry JSON; a record that could not be deserialized is forwarded as its raw bytes
+    private static KafkaTemplate<String, Object> deadLetterTemplate(ProducerFactory<?, ?> producerFactory) {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, new JsonSerializer<>());
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(),
+                new StringSerializer(),
+                new DelegatingByTypeSerializer(delegates, true)
+        ));
     }
 }
@@ -0,0 +1,25 @@
+package com.banking.payment.controller;
+
+import com.banking.payment.dto.DeadLetterRedriveDto;
+import com.banking.payment.service.DeadLetterRedriveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterController {
+    private final DeadLetterRedriveService deadLetterRedriveService;
+
+    @PostMapping("/{topic}/redrive")
+    public ResponseEntity<DeadLetterRedriveDto> redrive(
+            @PathVariable String topic,
+            @RequestParam(defaultValue = "1000") int max
+    ) {
+        log.info("♻️ POST /admin/dead-letters/{}/redrive - Reprocessando até {} mensagens", topic, max);
+        return ResponseEntity.ok(deadLetterRedriveService.redrive(topic, max));
+    }
+}
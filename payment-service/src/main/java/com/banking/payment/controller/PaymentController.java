@@ -1,17 +1,27 @@
 package com.banking.payment.controller;
 
+import com.banking.core.enums.PaymentStatus;
+import com.banking.payment.dto.PaymentBatchItemDto;
 import com.banking.payment.dto.PaymentDetailsDto;
 import com.banking.payment.dto.PaymentDto;
+import com.banking.payment.dto.PaymentPageDto;
 import com.banking.payment.dto.PaymentResponseDto;
+import com.banking.payment.dto.SagaStepStatsDto;
 import com.banking.payment.model.PaymentEventEntity;
+import com.banking.payment.service.PaymentBatchService;
 import com.banking.payment.service.PaymentEventStore;
+import com.banking.payment.service.PaymentSaga;
 import com.banking.payment.service.PaymentService;
+import com.banking.payment.service.PaymentStatusHub;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,20 +29,35 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = "X-Next-Cursor")
 public class PaymentController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final PaymentService paymentService;
+    private final PaymentBatchService paymentBatchService;
     private final PaymentEventStore paymentEventStore;
+    private final PaymentStatusHub paymentStatusHub;
+    private final PaymentSaga paymentSaga;
 
     @PostMapping
-    public ResponseEntity<PaymentResponseDto> createPayment(@RequestBody PaymentDto request) {
+    public ResponseEntity<PaymentResponseDto> createPayment(
+            @RequestBody PaymentDto request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
         log.info("💳 POST /payments - Criando pagamento");
-        UUID paymentId = paymentService.createPayment(request);
+        UUID paymentId = paymentService.createPayment(request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(
                 new PaymentResponseDto(paymentId, "Payment being processed by SAGA")
         );
     }
 
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PaymentBatchItemDto>> createPayments(InputStream body) {
+        log.info("📦 POST /payments/batch - Criando pagamentos em lote");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(paymentBatchService.createPayments(body));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PaymentDetailsDto> getPayment(@PathVariable UUID id) {
         log.info("🔍 GET /payments/{} - Buscando pagamento", id);
@@ -40,15 +65,34 @@ public class PaymentController {
         return ResponseEntity.ok(payment);
     }
 
+    @GetMapping(path = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPayment(@PathVariable UUID id) {
+        log.info("📡 GET /payments/{}/stream - Assinando status", id);
+        SseEmitter emitter = paymentStatusHub.subscribe(id, () -> paymentService.getSettledPayment(id));
+        return ResponseEntity.ok(emitter);
+    }
+
     @GetMapping
     public ResponseEntity<List<PaymentDetailsDto>> getPayments(
-            @RequestParam(required = false) UUID payerId
+            @RequestParam(required = false) UUID payerId,
+            @RequestParam(required = false) UUID payeeId,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "50") int limit
     ) {
         log.info("📊 GET /payments - Listando pagamentos");
-        if (payerId != null) {
-            return ResponseEntity.ok(paymentService.getPaymentsByPayer(payerId));
+        PaymentPageDto page = paymentService.getPayments(payerId, payeeId, status, after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
         }
-        return ResponseEntity.ok(paymentService.getAllPayments());
+        return response.body(page.items());
+    }
+
+    @GetMapping("/saga/stats")
+    public ResponseEntity<List<SagaStepStatsDto>> getSagaStats() {
+        return ResponseEntity.ok(paymentSaga.stepStats());
     }
 
     @GetMapping("/{paymentId}/events")
@@ -1,5 +1,7 @@
 package com.banking.payment.controller;
 
+import com.banking.payment.exception.IdempotencyKeyConflictException;
+import com.banking.payment.exception.InvalidDeadLetterTopicException;
 import com.banking.payment.exception.InvalidPaymentException;
 import com.banking.payment.exception.PaymentNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -22,5 +24,17 @@ public class PaymentControllerAdvice {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflict(IdempotencyKeyConflictException e) {
+        ErrorResponse error = new ErrorResponse("IDEMPOTENCY_KEY_REUSED", e.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(InvalidDeadLetterTopicException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDeadLetterTopic(InvalidDeadLetterTopicException e) {
+        ErrorResponse error = new ErrorResponse("INVALID_DEAD_LETTER_TOPIC", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     public record ErrorResponse(String code, String message) {}
 }
@@ -0,0 +1,7 @@
+package com.banking.payment.dto;
+
+public record DeadLetterRedriveDto(
+        String topic,
+        int redriven,
+        int skipped
+) {}
@@ -0,0 +1,18 @@
+package com.banking.payment.dto;
+
+import java.util.UUID;
+
+public record PaymentBatchItemDto(
+        int index,
+        UUID paymentId,
+        String error
+) {
+
+    public static PaymentBatchItemDto accepted(int index, UUID paymentId) {
+        return new PaymentBatchItemDto(index, paymentId, null);
+    }
+
+    public static PaymentBatchItemDto rejected(int index, String error) {
+        return new PaymentBatchItemDto(index, null, error);
+    }
+}
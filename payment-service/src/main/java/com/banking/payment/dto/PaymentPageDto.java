@@ -0,0 +1,9 @@
+package com.banking.payment.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PaymentPageDto(
+        List<PaymentDetailsDto> items,
+        UUID nextCursor
+) {}
@@ -0,0 +1,4 @@
+package com.banking.payment.dto;
+
+public record PaymentStatusChanged(PaymentDetailsDto payment) {
+}
@@ -0,0 +1,11 @@
+package com.banking.payment.dto;
+
+import com.banking.payment.model.SagaStep;
+
+public record SagaStepStatsDto(
+        SagaStep step,
+        long completed,
+        long failed,
+        double averageMicros,
+        double throughputPerSecond
+) {}
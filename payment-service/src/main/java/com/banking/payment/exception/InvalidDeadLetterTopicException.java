@@ -0,0 +1,7 @@
+package com.banking.payment.exception;
+
+public class InvalidDeadLetterTopicException extends RuntimeException {
+    public InvalidDeadLetterTopicException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.banking.payment.listener;
 
+import com.banking.core.concurrent.KeyOrderedExecutor;
+import com.banking.core.dedupe.EventDeduplicator;
 import com.banking.core.event.PaymentCreatedEvent;
 import com.banking.payment.service.PaymentSaga;
 import lombok.RequiredArgsConstructor;
@@ -7,18 +9,42 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentSagaListener {
     private final PaymentSaga paymentSaga;
+    private final KeyOrderedExecutor listenerExecutor;
+    private final EventDeduplicator eventDeduplicator;
 
     @KafkaListener(
             topics = "payment-created",
-            groupId = "payment-saga-group"
+            groupId = "payment-saga-group",
+            containerFactory = "parallelListenerContainerFactory"
     )
-    public void handlePaymentCreated(PaymentCreatedEvent event) {
-        log.info("🎯 [LISTENER] Recebido payment-created: {}", event.getPaymentId());
-        paymentSaga.executePaymentSaga(event.getPaymentId());
+    public CompletableFuture<Void> handlePaymentCreated(PaymentCreatedEvent event) {
+        UUID paymentId = event.getPaymentId();
+        log.info("🎯 [LISTENER] Recebido payment-created: {}", paymentId);
+
+        // the event id is recorded only after the saga stored the payment's final status: a copy redelivered after a
+        // crash before that point runs the saga again, which skips a payment that is no longer PENDING. The container
+        // acknowledges when the future completes and moves a failed record to the next retry topic
+        return listenerExecutor.submit(paymentId, () -> {
+                    if (eventDeduplicator.alreadyProcessed(event.getEventId())) {
+                        log.info("⏭️ [LISTENER] Evento {} já processado, ignorando", event.getEventId());
+                        return;
+                    }
+                    if (paymentSaga.executePaymentSaga(paymentId)) {
+                        eventDeduplicator.claim(event.getEventId());
+                    }
+                })
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.error("❌ [LISTENER] Saga falhou para payment {}", paymentId, error);
+                    }
+                });
     }
 }
@@ -8,6 +8,7 @@ public class PaymentMapper {
         return PaymentEntity.builder()
                 .id(payment.getId())
                 .payerId(payment.getPayerId())
+                .payerEmail(payment.getPayerEmail())
                 .payeeId(payment.getPayeeId())
                 .amount(payment.getAmount())
                 .currency(payment.getCurrency())
@@ -11,7 +11,11 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_payer_id", columnList = "payer_id, id"),
+        @Index(name = "idx_payments_payee_id", columnList = "payee_id, id"),
+        @Index(name = "idx_payments_status", columnList = "status, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
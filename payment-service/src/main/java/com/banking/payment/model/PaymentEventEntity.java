@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payment_events")
+@Table(name = "payment_events", indexes = {
+        @Index(name = "idx_payment_events_payment", columnList = "payment_id, event_date_time"),
+        @Index(name = "idx_payment_events_payer", columnList = "payer_id, event_date_time"),
+        @Index(name = "idx_payment_events_payee", columnList = "payee_id, event_date_time")
+})
 @Data
 @Builder
 @NoArgsConstructor
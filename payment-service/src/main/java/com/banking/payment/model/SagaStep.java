@@ -0,0 +1,7 @@
+package com.banking.payment.model;
+
+public enum SagaStep {
+    DEBIT,
+    APPROVE,
+    PUBLISH
+}
@@ -0,0 +1,19 @@
+package com.banking.payment.repository;
+
+import com.banking.payment.model.OutboxMessageEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessageEntity, Long> {
+
+    @Query(
+            value = "SELECT * FROM payment_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true
+    )
+    List<OutboxMessageEntity> lockNextBatch(@Param("limit") int limit);
+}
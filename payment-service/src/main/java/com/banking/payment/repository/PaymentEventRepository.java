@@ -9,7 +9,7 @@ import java.util.UUID;
 
 @Repository
 public interface PaymentEventRepository extends JpaRepository<PaymentEventEntity, UUID> {
-    List<PaymentEventEntity> findByPaymentId(UUID paymentId);
-    List<PaymentEventEntity> findByPayeeId(UUID payeeId);
-    List<PaymentEventEntity> findByPayerId(UUID payerId);
+    List<PaymentEventEntity> findByPaymentIdOrderByEventDateTime(UUID paymentId);
+    List<PaymentEventEntity> findByPayeeIdOrderByEventDateTime(UUID payeeId);
+    List<PaymentEventEntity> findByPayerIdOrderByEventDateTime(UUID payerId);
 }
@@ -0,0 +1,123 @@
+package com.banking.payment.service;
+
+import com.banking.payment.dto.DeadLetterRedriveDto;
+import com.banking.payment.exception.InvalidDeadLetterTopicException;
+import com.banking.payment.exception.PaymentProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class DeadLetterRedriveService {
+    private static final String GROUP_ID = "dead-letter-redrive";
+    private static final String DLT_SUFFIX = "-dlt";
+    private static final String REDRIVE_SUFFIX = "-retry-0";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final long sendTimeoutMs;
+
+    public DeadLetterRedriveService(
+            ConsumerFactory<String, Object> consumerFactory,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${payment.dead-letter.redrive.send-timeout-ms:30000}") long sendTimeoutMs
+    ) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    // republishes up to max dead letters into the first retry tier of the group that dead-lettered them; records
+    // that never deserialized are skipped, since sending them back would only dead-letter them again
+    public DeadLetterRedriveDto redrive(String topic, int max) {
+        validate(topic, max);
+        String redriveTopic = redriveTopic(topic);
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer(GROUP_ID, null, null, overrides)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(topic).stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            // only what was dead-lettered before the call is redriven, so a record failing again is not picked up twice
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            Map<TopicPartition, OffsetAndMetadata> consumed = new HashMap<>();
+            List<CompletableFuture<?>> acks = new ArrayList<>();
+            int skipped = 0;
+            while (acks.size() + skipped < max && !caughtUp(consumer, endOffsets)) {
+                for (ConsumerRecord<String, Object> record : consumer.poll(POLL_TIMEOUT)) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (acks.size() + skipped >= max || record.offset() >= endOffsets.get(partition)) {
+                        consumer.pause(List.of(partition));
+                        continue;
+                    }
+                    if (record.value() == null) {
+                        skipped++;
+                    } else {
+                        acks.add(kafkaTemplate.send(redriveTopic, record.key(), record.value()));
+                    }
+                    consumed.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            awaitAcks(acks);
+            consumer.commitSync(consumed);
+            log.info("♻️ Redrive de {} para {}: {} republicados, {} ignorados", topic, redriveTopic, acks.size(), skipped);
+            return new DeadLetterRedriveDto(topic, acks.size(), skipped);
+        }
+    }
+
+    private static void validate(String topic, int max) {
+        if (topic == null || !topic.endsWith(DLT_SUFFIX)) {
+            throw new InvalidDeadLetterTopicException("Not a dead-letter topic: " + topic);
+        }
+        if (max < 1) {
+            throw new InvalidDeadLetterTopicException("max must be positive");
+        }
+    }
+
+    private static boolean caughtUp(Consumer<String, Object> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+    }
+
+    // every group dead-letters into <topic>-<group>-dlt and is the only one consuming <topic>-<group>-retry-0, so a
+    // letter goes back to the group that failed it rather than to every group subscribed to the original topic
+    public static String redriveTopic(String deadLetterTopic) {
+        return deadLetterTopic.substring(0, deadLetterTopic.length() - DLT_SUFFIX.length()) + REDRIVE_SUFFIX;
+    }
+
+    private void awaitAcks(List<CompletableFuture<?>> acks) {
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentProcessingException("Dead-letter redrive interrupted", e);
+        } catch (Exception e) {
+            throw new PaymentProcessingException("Kafka did not acknowledge redriven dead letters", e);
+        }
+    }
+}
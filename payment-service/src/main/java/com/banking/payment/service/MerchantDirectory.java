@@ -0,0 +1,219 @@
+package com.banking.payment.service;
+
+import com.banking.core.event.MerchantUpdatedEvent;
+import com.banking.payment.exception.InvalidPaymentException;
+import com.banking.payment.model.Payment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of merchant-service's compacted {@code merchant-directory} topic, used to reject payments whose payer
+ * cannot cover the amount before anything is stored or a saga starts.
+ * <p>
+ * A merchant missing from the copy is not proof that it does not exist: it may have registered a moment ago, or its
+ * record may not have been published yet. Such payments are only counted and let through to the saga.
+ * <p>
+ * Every instance replays the whole topic on its own manually assigned consumer, so nothing is committed and no
+ * group partitions are shared. Until the replay reaches the end offsets seen at startup the directory is incomplete
+ * and {@link #validate} lets everything through; the saga's debit stays the authoritative check either way.
+ */
+@Service
+@Slf4j
+public class MerchantDirectory {
+    private static final String GROUP_ID = "payment-merchant-directory";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Map<UUID, MerchantUpdatedEvent> merchants = new ConcurrentHashMap<>();
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final String topic;
+    private final boolean enabled;
+    private final Counter misses;
+    private final Counter insufficientBalance;
+
+    private volatile boolean ready;
+    private volatile boolean running;
+    private volatile Consumer<String, Object> consumer;
+    private Thread reader;
+
+    public MerchantDirectory(
+            ConsumerFactory<String, Object> consumerFactory,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.topics.merchant-directory:merchant-directory}") String topic,
+            @Value("${payment.merchant-directory.enabled:true}") boolean enabled
+    ) {
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.enabled = enabled;
+
+        Gauge.builder("payment.merchant.directory.size", merchants, Map::size)
+                .description("Merchants currently known to the local directory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("payment.merchant.directory.misses")
+                .description("Payments let through because the payer or payee was not in the local directory")
+                .register(meterRegistry);
+        this.insufficientBalance = rejections(meterRegistry, "insufficient_balance");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        reader = Thread.ofPlatform().name("merchant-directory").daemon().start(this::run);
+    }
+
+    public void validate(Payment payment) {
+        if (!ready) {
+            return;
+        }
+
+        MerchantUpdatedEvent payer = merchants.get(payment.getPayerId());
+        if (payer == null || !merchants.containsKey(payment.getPayeeId())) {
+            misses.increment();
+            return;
+        }
+        if (payer.getBalance() != null && payer.getBalance().compareTo(payment.getAmount()) < 0) {
+            insufficientBalance.increment();
+            throw new InvalidPaymentException("Insufficient balance");
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return merchants.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = reader;
+        }
+        Consumer<String, Object> active = consumer;
+        if (active != null) {
+            active.wakeup();
+        }
+        if (current != null) {
+            current.join(POLL_TIMEOUT.multipliedBy(5).toMillis());
+        }
+    }
+
+    private void run() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        try (Consumer<String, Object> directoryConsumer = consumerFactory.createConsumer(GROUP_ID, null, null, overrides)) {
+            consumer = directoryConsumer;
+            List<TopicPartition> partitions = awaitPartitions(directoryConsumer);
+            if (partitions.isEmpty()) {
+                return;
+            }
+            directoryConsumer.assign(partitions);
+            directoryConsumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> endOffsets = directoryConsumer.endOffsets(partitions);
+
+            while (running) {
+                directoryConsumer.poll(POLL_TIMEOUT).forEach(this::apply);
+                if (!ready && caughtUp(directoryConsumer, endOffsets)) {
+                    ready = true;
+                    log.info("📒 Diretório de merchants carregado: {} merchants de {}", merchants.size(), topic);
+                }
+            }
+        } catch (WakeupException e) {
+            // shutdown() interrupted a poll
+        } catch (RuntimeException e) {
+            log.error("❌ Leitura do diretório de merchants interrompida; pré-validação desligada", e);
+        } finally {
+            // a directory that stopped following the topic would reject on stale balances
+            ready = false;
+            consumer = null;
+        }
+    }
+
+    // merchant-service creates the topic, so it may not exist yet when this service starts first
+    private List<TopicPartition> awaitPartitions(Consumer<String, Object> directoryConsumer) {
+        while (running) {
+            try {
+                List<TopicPartition> partitions = directoryConsumer.partitionsFor(topic).stream()
+                        .map(info -> new TopicPartition(topic, info.partition()))
+                        .toList();
+                if (!partitions.isEmpty()) {
+                    return partitions;
+                }
+            } catch (TimeoutException e) {
+                log.warn("⚠️ Tópico {} indisponível, tentando novamente: {}", topic, e.getMessage());
+            }
+            try {
+                Thread.sleep(POLL_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return List.of();
+    }
+
+    private void apply(ConsumerRecord<String, Object> record) {
+        if (record.value() instanceof MerchantUpdatedEvent merchant) {
+            merchants.put(merchant.getMerchantId(), merchant);
+        } else if (record.value() == null && record.key() != null
+                && record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) == null) {
+            // tombstone: compaction will drop the merchant, so drop it here as well
+            UUID merchantId = merchantId(record);
+            if (merchantId != null) {
+                merchants.remove(merchantId);
+            }
+        } else {
+            log.warn("⚠️ Registro ilegível no diretório de merchants: {}-{}@{}", record.topic(), record.partition(), record.offset());
+        }
+    }
+
+    private static UUID merchantId(ConsumerRecord<String, Object> record) {
+        try {
+            return UUID.fromString(record.key());
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Chave inválida no diretório de merchants: {}", record.key());
+            return null;
+        }
+    }
+
+    private static boolean caughtUp(Consumer<String, Object> directoryConsumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> directoryConsumer.position(end.getKey()) >= end.getValue());
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("payment.merchant.directory.rejections")
+                .description("Payments rejected at submission by the local merchant directory")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,153 @@
+package com.banking.payment.service;
+
+import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.payment.dto.PaymentBatchItemDto;
+import com.banking.payment.dto.PaymentDto;
+import com.banking.payment.exception.InvalidPaymentException;
+import com.banking.payment.mapper.PaymentMapper;
+import com.banking.payment.model.Payment;
+import com.banking.payment.model.PaymentEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ingests a JSON array of payments without buffering the whole body: items are read one at a time,
+ * validated with the same rules as {@link PaymentService#createPayment}, and written in chunks with one
+ * transaction and one JDBC batch per table. The outbox relay then publishes the chunk to {@code payment-created}.
+ */
+@Service
+@Slf4j
+public class PaymentBatchService {
+    private static final String PAYMENT_CREATED_TOPIC = "payment-created";
+    private static final String INSERT_PAYMENT = """
+            INSERT INTO payments (id, payer_id, payer_email, payee_id, amount, currency, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final PaymentEventStore paymentEventStore;
+    private final PaymentOutbox paymentOutbox;
+    private final MerchantDirectory merchantDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PaymentBatchService(
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            PaymentEventStore paymentEventStore,
+            PaymentOutbox paymentOutbox,
+            MerchantDirectory merchantDirectory,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.batch.chunk-size:500}") int chunkSize
+    ) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("payment.batch.chunk-size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.paymentEventStore = paymentEventStore;
+        this.paymentOutbox = paymentOutbox;
+        this.merchantDirectory = merchantDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public List<PaymentBatchItemDto> createPayments(InputStream body) {
+        List<PaymentBatchItemDto> results = new ArrayList<>();
+        List<IndexedPayment> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                JsonNode item = items.nextValue();
+                try {
+                    Payment payment = PaymentService.newPayment(objectMapper.treeToValue(item, PaymentDto.class));
+                    merchantDirectory.validate(payment);
+                    chunk.add(new IndexedPayment(index, payment));
+                } catch (JsonProcessingException e) {
+                    results.add(PaymentBatchItemDto.rejected(index, "Invalid payment: " + e.getOriginalMessage()));
+                } catch (InvalidPaymentException e) {
+                    results.add(PaymentBatchItemDto.rejected(index, e.getMessage()));
+                }
+                index++;
+
+                if (chunk.size() == chunkSize) {
+                    results.addAll(write(chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // a syntax error leaves the parser unusable, so everything after it is dropped
+            log.warn("⚠️ Lote interrompido no item {}: {}", index, e.getMessage());
+            results.add(PaymentBatchItemDto.rejected(index, "Malformed JSON: " + e.getMessage()));
+        }
+
+        results.addAll(write(chunk));
+        results.sort(Comparator.comparingInt(PaymentBatchItemDto::index));
+
+        long accepted = results.stream().filter(result -> result.paymentId() != null).count();
+        log.info("📦 Lote de pagamentos processado: {} aceitos, {} rejeitados", accepted, results.size() - accepted);
+        return results;
+    }
+
+    private List<PaymentBatchItemDto> write(List<IndexedPayment> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        List<PaymentEntity> entities = chunk.stream()
+                .map(item -> PaymentMapper.toEntity(item.payment()))
+                .toList();
+        List<PaymentCreatedEvent> events = chunk.stream()
+                .map(item -> PaymentService.createdEvent(item.payment()))
+                .toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(entities);
+                paymentEventStore.savePaymentCreatedEvents(entities);
+                paymentOutbox.enqueueAll(PAYMENT_CREATED_TOPIC, events, event -> event.getPaymentId().toString());
+            });
+        } catch (RuntimeException e) {
+            log.error("❌ Falha ao gravar lote de {} pagamentos", chunk.size(), e);
+            return chunk.stream()
+                    .map(item -> PaymentBatchItemDto.rejected(item.index(), "Failed to store payment: " + e.getMessage()))
+                    .toList();
+        }
+
+        log.info("💾 {} pagamentos salvos em lote", chunk.size());
+        return chunk.stream()
+                .map(item -> PaymentBatchItemDto.accepted(item.index(), item.payment().getId()))
+                .toList();
+    }
+
+    private void insert(List<PaymentEntity> payments) {
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT, payments, payments.size(), (ps, payment) -> {
+            ps.setObject(1, payment.getId());
+            ps.setObject(2, payment.getPayerId());
+            ps.setString(3, payment.getPayerEmail());
+            ps.setObject(4, payment.getPayeeId());
+            ps.setBigDecimal(5, payment.getAmount());
+            ps.setString(6, payment.getCurrency());
+            ps.setString(7, payment.getStatus().name());
+        });
+    }
+
+    private record IndexedPayment(int index, Payment payment) {
+    }
+}
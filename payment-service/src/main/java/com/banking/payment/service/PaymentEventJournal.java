@@ -0,0 +1,108 @@
+package com.banking.payment.service;
+
+import com.banking.core.journal.GroupCommitJournal;
+import com.banking.payment.exception.PaymentProcessingException;
+import com.banking.payment.model.PaymentEventEntity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+@Service
+@Slf4j
+public class PaymentEventJournal {
+    private static final String INSERT_EVENT = """
+            INSERT INTO payment_events
+                (id, payment_id, payer_id, payee_id, amount, currency, status, event_type, event_date_time, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final GroupCommitJournal<PaymentEventEntity> journal;
+    private final Timer transactionalAppends;
+    private final Timer groupCommitAppends;
+    private final DistributionSummary batchSizes;
+
+    public PaymentEventJournal(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${payment.journal.window-ms:2}") long windowMs,
+            @Value("${payment.journal.max-batch-size:500}") int maxBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new GroupCommitJournal<>("payment-events", this::writeBatch, Duration.ofMillis(windowMs), maxBatchSize);
+        this.transactionalAppends = meterRegistry.timer("event.store.append", "store", "payment", "mode", "transactional");
+        this.groupCommitAppends = meterRegistry.timer("event.store.append", "store", "payment", "mode", "group-commit");
+        this.batchSizes = meterRegistry.summary("event.store.batch.size", "store", "payment");
+    }
+
+    public void append(PaymentEventEntity event) {
+        append(List.of(event));
+    }
+
+    public void append(List<PaymentEventEntity> events) {
+        // inside a caller's transaction the events must commit or roll back with its state change
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionalAppends.record(() -> {
+                entityManager.flush();
+                insert(events);
+            });
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            journal.append(events).join();
+        } catch (CompletionException e) {
+            throw new PaymentProcessingException("Failed to append payment events", e);
+        } finally {
+            sample.stop(groupCommitAppends);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+
+    private void writeBatch(List<PaymentEventEntity> events) {
+        batchSizes.record(events.size());
+        transactionTemplate.executeWithoutResult(status -> insert(events));
+        log.debug("Journal gravou {} eventos de pagamento", events.size());
+    }
+
+    private void insert(List<PaymentEventEntity> events) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getId());
+            ps.setObject(2, event.getPaymentId());
+            ps.setObject(3, event.getPayerId());
+            ps.setObject(4, event.getPayeeId());
+            ps.setBigDecimal(5, event.getAmount());
+            ps.setString(6, event.getCurrency());
+            ps.setString(7, event.getStatus().name());
+            ps.setString(8, event.getEventType());
+            ps.setObject(9, event.getEventDateTime());
+            ps.setObject(10, event.getCreatedAt() != null ? event.getCreatedAt() : now);
+        });
+    }
+}
@@ -1,13 +1,17 @@
 package com.banking.payment.service;
 
 import com.banking.core.enums.PaymentStatus;
+import com.banking.core.id.TimeOrderedUuid;
+import com.banking.payment.dto.PaymentDetailsDto;
+import com.banking.payment.dto.PaymentStatusChanged;
 import com.banking.payment.model.PaymentEntity;
 import com.banking.payment.model.PaymentEventEntity;
 import com.banking.payment.repository.PaymentEventRepository;
-import com.banking.payment.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -21,9 +25,10 @@ import java.util.UUID;
 public class PaymentEventStore {
 
     private final PaymentEventRepository paymentEventRepository;
-    private final PaymentRepository paymentRepository;
+    private final PaymentEventJournal paymentEventJournal;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void savePaymentCreatedEvent(
             UUID paymentId,
             UUID payerId,
@@ -33,7 +38,7 @@ public class PaymentEventStore {
             PaymentStatus status
     ) {
         PaymentEventEntity event = PaymentEventEntity.builder()
-                .id(UUID.randomUUID())
+                .id(TimeOrderedUuid.next())
                 .paymentId(paymentId)
                 .payerId(payerId)
                 .payeeId(payeeId)
@@ -44,61 +49,66 @@ public class PaymentEventStore {
                 .eventDateTime(LocalDateTime.now())
                 .build();
 
-        paymentEventRepository.save(event);
+        paymentEventJournal.append(event);
         log.info("Payment event saved: paymentId={}, eventType={}", paymentId, event.getEventType());
     }
 
-    @Transactional
-    public void savePaymentApprovedEvent(UUID paymentId) {
-        PaymentEntity payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new RuntimeException("Payment not found"));
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void savePaymentCreatedEvents(List<PaymentEntity> payments) {
+        paymentEventJournal.append(payments.stream()
+                .map(payment -> statusEvent(payment, payment.getStatus(), "PAYMENT_CREATED"))
+                .toList());
+        log.info("Payment events saved: count={}, eventType=PAYMENT_CREATED", payments.size());
+    }
 
-        PaymentEventEntity event = PaymentEventEntity.builder()
-                .id(UUID.randomUUID())
-                .paymentId(paymentId)
-                .payerId(payment.getPayerId())
-                .payeeId(payment.getPayeeId())
-                .amount(payment.getAmount())
-                .currency(payment.getCurrency())
-                .status(PaymentStatus.APPROVED)
-                .eventType("PAYMENT_APPROVED")
-                .eventDateTime(LocalDateTime.now())
-                .build();
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void savePaymentApprovedEvent(PaymentEntity payment) {
+        paymentEventJournal.append(statusEvent(payment, PaymentStatus.APPROVED, "PAYMENT_APPROVED"));
+        publishStatusChanged(payment, PaymentStatus.APPROVED);
+        log.info("Payment APPROVED event saved: paymentId={}", payment.getId());
+    }
 
-        paymentEventRepository.save(event);
-        log.info("Payment APPROVED event saved: paymentId={}", paymentId);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void savePaymentRejectedEvent(PaymentEntity payment) {
+        paymentEventJournal.append(statusEvent(payment, PaymentStatus.REJECTED, "PAYMENT_REJECTED"));
+        publishStatusChanged(payment, PaymentStatus.REJECTED);
+        log.info("Payment REJECTED event saved: paymentId={}", payment.getId());
     }
 
-    @Transactional
-    public void savePaymentRejectedEvent(UUID paymentId) {
-        PaymentEntity payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new RuntimeException("Payment not found"));
+    public List<PaymentEventEntity> getPaymentHistory(UUID paymentId) {
+        return paymentEventRepository.findByPaymentIdOrderByEventDateTime(paymentId);
+    }
 
-        PaymentEventEntity event = PaymentEventEntity.builder()
-                .id(UUID.randomUUID())
-                .paymentId(paymentId)
+    public List<PaymentEventEntity> getPayerPaymentHistory(UUID payerId) {
+        return paymentEventRepository.findByPayerIdOrderByEventDateTime(payerId);
+    }
+
+    public List<PaymentEventEntity> getPayeePaymentHistory(UUID payeeId) {
+        return paymentEventRepository.findByPayeeIdOrderByEventDateTime(payeeId);
+    }
+
+    private static PaymentEventEntity statusEvent(PaymentEntity payment, PaymentStatus status, String eventType) {
+        return PaymentEventEntity.builder()
+                .id(TimeOrderedUuid.next())
+                .paymentId(payment.getId())
                 .payerId(payment.getPayerId())
                 .payeeId(payment.getPayeeId())
                 .amount(payment.getAmount())
                 .currency(payment.getCurrency())
-                .status(PaymentStatus.REJECTED)
-                .eventType("PAYMENT_REJECTED")
+                .status(status)
+                .eventType(eventType)
                 .eventDateTime(LocalDateTime.now())
                 .build();
-
-        paymentEventRepository.save(event);
-        log.info("Payment REJECTED event saved: paymentId={}", paymentId);
     }
 
-    public List<PaymentEventEntity> getPaymentHistory(UUID paymentId) {
-        return paymentEventRepository.findByPaymentId(paymentId);
-    }
-
-    public List<PaymentEventEntity> getPayerPaymentHistory(UUID payerId) {
-        return paymentEventRepository.findByPayerId(payerId);
-    }
-
-    public List<PaymentEventEntity> getPayeePaymentHistory(UUID payeeId) {
-        return paymentEventRepository.findByPayeeId(payeeId);
+    private void publishStatusChanged(PaymentEntity payment, PaymentStatus status) {
+        eventPublisher.publishEvent(new PaymentStatusChanged(new PaymentDetailsDto(
+                payment.getId(),
+                payment.getPayerId(),
+                payment.getPayeeId(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                status
+        )));
     }
 }
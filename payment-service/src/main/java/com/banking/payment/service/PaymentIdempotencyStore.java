@@ -0,0 +1,157 @@
+package com.banking.payment.service;
+
+import com.banking.payment.dto.PaymentDto;
+import com.banking.payment.exception.IdempotencyKeyConflictException;
+import com.banking.payment.exception.InvalidPaymentException;
+import com.banking.payment.exception.PaymentProcessingException;
+import com.banking.payment.model.IdempotencyKeyEntity;
+import com.banking.payment.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class PaymentIdempotencyStore {
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String CLAIM_KEY = """
+            INSERT INTO payment_idempotency_keys (idempotency_key, payment_id, created_at, request_hash)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (idempotency_key) DO NOTHING
+            """;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Claim> claimsByKey;
+    private final Duration retention;
+
+    public PaymentIdempotencyStore(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${payment.idempotency.cache-size:100000}") long cacheSize,
+            @Value("${payment.idempotency.retention-hours:24}") long retentionHours
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = Duration.ofHours(retentionHours);
+        this.claimsByKey = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsByKey, "payment-idempotency-keys");
+    }
+
+    /**
+     * Returns the payment already created under {@code key}, or throws if that payment was created from a
+     * different request, so a client reusing a key by mistake gets an error instead of someone else's payment.
+     */
+    public Optional<UUID> find(String key, PaymentDto request) {
+        String requestHash = requestHash(request);
+        Claim cached = claimsByKey.getIfPresent(validate(key));
+        if (cached != null) {
+            return Optional.of(cached.paymentIdFor(key, requestHash));
+        }
+
+        Optional<Claim> stored = idempotencyKeyRepository.findById(key).map(Claim::of);
+        stored.ifPresent(claim -> claimsByKey.put(key, claim));
+        return stored.map(claim -> claim.paymentIdFor(key, requestHash));
+    }
+
+    /**
+     * Binds the key to {@code paymentId} in the caller's transaction and returns the payment that owns it.
+     * A concurrent claim of the same key waits on the row until the first transaction ends, then either
+     * takes the key over (rollback) or returns the payment that committed with it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UUID claim(String key, UUID paymentId, PaymentDto request) {
+        String requestHash = requestHash(request);
+        if (jdbcTemplate.update(CLAIM_KEY, validate(key), paymentId, LocalDateTime.now(), requestHash) == 1) {
+            // caching before commit would replay a payment that may still roll back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    claimsByKey.put(key, new Claim(paymentId, requestHash));
+                }
+            });
+            return paymentId;
+        }
+
+        Claim owner = idempotencyKeyRepository.findById(key)
+                .map(Claim::of)
+                .orElseThrow(() -> new PaymentProcessingException("Idempotency key expired while claiming it: " + key));
+        claimsByKey.put(key, owner);
+        return owner.paymentIdFor(key, requestHash);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("🧹 {} chaves de idempotência expiradas removidas", removed);
+        }
+    }
+
+    private static String validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidPaymentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        return key;
+    }
+
+    public static String requestHash(PaymentDto request) {
+        // scale-insensitive so that 10.0 and 10.00 are the same request
+        String amount = request.amount() == null ? null : request.amount().stripTrailingZeros().toPlainString();
+        String canonical = String.join("|",
+                String.valueOf(request.payerId()),
+                String.valueOf(request.payerEmail()),
+                String.valueOf(request.payeeId()),
+                String.valueOf(amount),
+                String.valueOf(request.currency())
+        );
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Claim(UUID paymentId, String requestHash) {
+
+        static Claim of(IdempotencyKeyEntity entity) {
+            return new Claim(entity.getPaymentId(), entity.getRequestHash());
+        }
+
+        UUID paymentIdFor(String key, String requestHash) {
+            // keys stored before request_hash existed have nothing to compare against
+            if (this.requestHash != null && !this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyConflictException(
+                        "Idempotency-Key " + key + " was already used with a different request");
+            }
+            return paymentId;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.banking.payment.service;
+
+import com.banking.payment.exception.PaymentProcessingException;
+import com.banking.payment.model.OutboxMessageEntity;
+import com.banking.payment.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentOutbox {
+    private static final String INSERT_MESSAGE = """
+            INSERT INTO payment_outbox (topic, message_key, payload_type, payload, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object event) {
+        OutboxMessageEntity message = OutboxMessageEntity.builder()
+                .topic(topic)
+                .messageKey(key)
+                .payloadType(event.getClass().getName())
+                .payload(serialize(topic, event))
+                .build();
+
+        outboxMessageRepository.save(message);
+        log.info("📦 Outbox message enqueued: topic={}, key={}", topic, key);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <E> void enqueueAll(String topic, List<E> events, Function<E, String> key) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessageEntity> messages = events.stream()
+                .map(event -> OutboxMessageEntity.builder()
+                        .topic(topic)
+                        .messageKey(key.apply(event))
+                        .payloadType(event.getClass().getName())
+                        .payload(serialize(topic, event))
+                        .createdAt(now)
+                        .build())
+                .toList();
+
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, message.getTopic());
+            ps.setString(2, message.getMessageKey());
+            ps.setString(3, message.getPayloadType());
+            ps.setString(4, message.getPayload());
+            ps.setObject(5, message.getCreatedAt());
+        });
+        log.info("📦 Outbox messages enqueued: topic={}, count={}", topic, messages.size());
+    }
+
+    private String serialize(String topic, Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new PaymentProcessingException("Could not serialize outbox event for topic " + topic, e);
+        }
+    }
+}
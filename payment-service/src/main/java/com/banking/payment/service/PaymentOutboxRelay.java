@@ -0,0 +1,93 @@
+package com.banking.payment.service;
+
+import com.banking.payment.exception.PaymentProcessingException;
+import com.banking.payment.model.OutboxMessageEntity;
+import com.banking.payment.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class PaymentOutboxRelay {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    public PaymentOutboxRelay(
+            OutboxMessageRepository outboxMessageRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.outbox.batch-size:500}") int batchSize,
+            @Value("${payment.outbox.send-timeout-ms:30000}") long sendTimeoutMs
+    ) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval-ms:100}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxMessageEntity> batch = outboxMessageRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<CompletableFuture<?>> acks = new ArrayList<>(batch.size());
+            for (OutboxMessageEntity message : batch) {
+                acks.add(kafkaTemplate.send(message.getTopic(), message.getMessageKey(), deserialize(message)));
+            }
+            awaitAcks(acks);
+
+            outboxMessageRepository.deleteAllInBatch(batch);
+            log.info("📤 Outbox relay published {} messages", batch.size());
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    private Object deserialize(OutboxMessageEntity message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), Class.forName(message.getPayloadType()));
+        } catch (Exception e) {
+            throw new PaymentProcessingException("Could not read outbox message " + message.getId(), e);
+        }
+    }
+
+    private void awaitAcks(List<CompletableFuture<?>> acks) {
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentProcessingException("Outbox relay interrupted", e);
+        } catch (Exception e) {
+            throw new PaymentProcessingException("Kafka did not acknowledge outbox batch", e);
+        }
+    }
+}
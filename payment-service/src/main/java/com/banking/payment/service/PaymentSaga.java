@@ -1,185 +1,248 @@
 package com.banking.payment.service;
 
 import com.banking.core.enums.PaymentStatus;
-import com.banking.core.event.PaymentCompletedEvent;
+import com.banking.core.event.PaymentProcessedEvent;
+import com.banking.core.id.TimeOrderedUuid;
+import com.banking.payment.client.MerchantClient;
+import com.banking.payment.dto.SagaStepStatsDto;
 import com.banking.payment.exception.PaymentNotFoundException;
 import com.banking.payment.exception.PaymentProcessingException;
 import com.banking.payment.model.PaymentEntity;
+import com.banking.payment.model.SagaStep;
 import com.banking.payment.repository.PaymentRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PaymentSaga {
+    private static final String PAYMENT_PROCESSED_TOPIC = "payment-processed";
+
     private final PaymentRepository paymentRepository;
     private final PaymentEventStore paymentEventStore;
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final RestTemplate restTemplate;
+    private final MerchantClient merchantClient;
+    private final List<SagaStep> steps;
+    private final Map<SagaStep, StepTimers> stepTimers = new EnumMap<>(SagaStep.class);
+    private final Timer loadTimer;
+    private final Counter approved;
+    private final Counter rejected;
+    private final Counter refunded;
+    private final Counter refundFailed;
+    private final long startedAt = System.nanoTime();
+
+    public PaymentSaga(
+            PaymentRepository paymentRepository,
+            PaymentEventStore paymentEventStore,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MerchantClient merchantClient,
+            MeterRegistry meterRegistry,
+            @Value("${payment.saga.steps:debit,approve,publish}") List<SagaStep> steps
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.paymentEventStore = paymentEventStore;
+        this.kafkaTemplate = kafkaTemplate;
+        this.merchantClient = merchantClient;
+        this.steps = validate(steps);
+        this.steps.forEach(step -> stepTimers.put(step, new StepTimers(
+                stepTimer(meterRegistry, step.name().toLowerCase(Locale.ROOT), "success"),
+                stepTimer(meterRegistry, step.name().toLowerCase(Locale.ROOT), "failure")
+        )));
+        this.loadTimer = stepTimer(meterRegistry, "load", "success");
+        this.approved = meterRegistry.counter("payment.saga.payments", "outcome", "approved");
+        this.rejected = meterRegistry.counter("payment.saga.payments", "outcome", "rejected");
+        this.refunded = meterRegistry.counter("payment.saga.compensations", "result", "refunded");
+        this.refundFailed = meterRegistry.counter("payment.saga.compensations", "result", "failed");
+        log.info("🎭 Saga pipeline: {}", this.steps);
+    }
 
-    @Transactional
-    public void executePaymentSaga(UUID paymentId) {
-        log.info("🔄 ═══════════════════════════════════════════");
+    // true once the payment's final status is stored, so a redelivered copy of its event can be dropped
+    public boolean executePaymentSaga(UUID paymentId) {
         log.info("🔄 [SAGA START] Payment ID: {}", paymentId);
-        log.info("🔄 ═══════════════════════════════════════════");
 
+        long loadStart = System.nanoTime();
         PaymentEntity payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found: " + paymentId));
+        loadTimer.record(System.nanoTime() - loadStart, TimeUnit.NANOSECONDS);
 
-        log.info("💳 [SAGA] Payer: {}", payment.getPayerId());
-        log.info("💳 [SAGA] Payee: {}", payment.getPayeeId());
-        log.info("💳 [SAGA] Amount: {}", payment.getAmount());
-        log.info("💳 [SAGA] Currency: {}", payment.getCurrency());
-
-        boolean debitSuccess = false;
-
-        try {
-            log.info("📤 [SAGA STEP 1] Debitando payer: {}", payment.getPayerId());
-
-            debitSuccess = callMerchantServiceDebit(payment.getPayerId(), payment.getAmount());
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            log.info("⏭️ [SAGA SKIP] Payment {} já está {}", paymentId, payment.getStatus());
+            return true;
+        }
 
-            if (!debitSuccess) {
-                failSaga(payment, "Debit failed - insufficient funds or connection error");
-                return;
+        log.info("💳 [SAGA] Payer: {} | Payee: {} | Amount: {} {}",
+                payment.getPayerId(), payment.getPayeeId(), payment.getAmount(), payment.getCurrency());
+
+        List<SagaStep> completed = new ArrayList<>(steps.size());
+        for (SagaStep step : steps) {
+            StepTimers timers = stepTimers.get(step);
+            long start = System.nanoTime();
+            try {
+                runStep(step, payment);
+                timers.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                completed.add(step);
+            } catch (Exception e) {
+                timers.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.error("❌ [SAGA FAILED] Step {} | {}", step, e.getMessage(), e);
+                compensate(completed, payment);
+                return failSaga(payment, e.getMessage());
             }
+        }
 
-            log.info("✅ [SAGA STEP 1] Débito realizado com sucesso");
-
-            publishPaymentCompletedEvent(payment);
-            paymentEventStore.savePaymentApprovedEvent(paymentId);
-            payment.setStatus(PaymentStatus.APPROVED);
-            paymentRepository.save(payment);
-
-            log.info("✅ [SAGA COMPLETA] Payment {} - APPROVED", paymentId);
-
-        } catch (Exception e) {
-            log.error("❌ [SAGA FAILED] {}", e.getMessage(), e);
-
-            if (debitSuccess) {
-                boolean refundSuccess = callMerchantServiceCredit(payment.getPayerId(), payment.getAmount());
+        recordApproved(payment);
+        approved.increment();
+        log.info("✅ [SAGA COMPLETA] Payment {} - {}", paymentId, payment.getStatus());
+        return true;
+    }
 
-                if (refundSuccess) {
-                    log.info("Chargeback successfully carried out. Customer balance restored.");
-                } else {
-                    log.error("Refurbishment failure. The customer was charged but the transaction failed.");
-                }
-            }
+    public List<SagaStepStatsDto> stepStats() {
+        double elapsedSeconds = Math.max(System.nanoTime() - startedAt, 1) / 1_000_000_000.0;
+        return steps.stream()
+                .map(step -> stepTimers.get(step).snapshot(step, elapsedSeconds))
+                .toList();
+    }
 
-            failSaga(payment, e.getMessage());
+    private void runStep(SagaStep step, PaymentEntity payment) {
+        switch (step) {
+            case DEBIT -> debitPayer(payment);
+            case APPROVE -> approve(payment);
+            case PUBLISH -> publishProcessed(payment, PaymentStatus.APPROVED, "Pagamento processado com sucesso");
         }
     }
 
-    private boolean callMerchantServiceDebit(UUID merchantId, BigDecimal amount) {
-        try {
-            String url = "http://merchant-service:8082/api/merchants/" + merchantId + "/debit";
-
-            log.info("🌐 ═══════════════════════════════════════════");
-            log.info("🌐 [DEBIT CALL] URL: {}", url);
-            log.info("🌐 [DEBIT CALL] MerchantID: {}", merchantId);
-            log.info("🌐 [DEBIT CALL] Amount: {}", amount);
-            log.info("🌐 ═══════════════════════════════════════════");
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("amount", amount);
-
-            log.info("📤 [DEBIT REQUEST BODY] {}", body);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
-
-            log.info("📥 [DEBIT RESPONSE] Status: {}", response.getStatusCode());
-            log.info("📥 [DEBIT RESPONSE] Body: {}", response.getBody());
-            log.info("📥 [DEBIT RESPONSE] Headers: {}", response.getHeaders());
-
-            boolean success = response.getStatusCode().is2xxSuccessful();
-            log.info("✅ [DEBIT RESULT] Success: {}", success);
+    private void debitPayer(PaymentEntity payment) {
+        log.info("📤 [DEBIT CALL] MerchantID: {} | Amount: {}", payment.getPayerId(), payment.getAmount());
+        if (!merchantClient.debit(payment.getPayerId(), payment.getAmount()).join()) {
+            throw new PaymentProcessingException("Debit failed - insufficient funds or connection error");
+        }
+        log.info("✅ [SAGA DEBIT] Débito realizado com sucesso");
+    }
 
-            return success;
+    private void approve(PaymentEntity payment) {
+        payment.setStatus(PaymentStatus.APPROVED);
+        paymentRepository.save(payment);
+    }
 
+    // the APPROVED event reaches status streams, which close on it, so it is recorded only once the row is saved
+    // and every later step succeeded; a failure from here on would otherwise leave a client holding APPROVED for
+    // a payment that failSaga then rejects. The money has moved by now, so a failed write is logged, not undone.
+    private void recordApproved(PaymentEntity payment) {
+        try {
+            paymentEventStore.savePaymentApprovedEvent(payment);
         } catch (Exception e) {
-            log.error("❌ ═══════════════════════════════════════════");
-            log.error("❌ [DEBIT ERROR] Exception Type: {}", e.getClass().getSimpleName());
-            log.error("❌ [DEBIT ERROR] Message: {}", e.getMessage());
-            log.error("❌ [DEBIT ERROR] URL Attempted: {}",
-                    "http://merchant-service:8082/api/merchants/" + merchantId + "/debit");
-            log.error("❌ ═══════════════════════════════════════════", e);
-
-            return false;
+            log.error("❌ Erro ao registrar aprovação do payment {}", payment.getId(), e);
         }
     }
 
-    private boolean callMerchantServiceCredit(UUID merchantId, BigDecimal amount) {
-        try {
-            String url = "http://merchant-service:8082/api/merchants/" + merchantId + "/credit";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("amount", amount);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+    private void publishProcessed(PaymentEntity payment, PaymentStatus status, String description) {
+        PaymentProcessedEvent event = PaymentProcessedEvent.builder()
+                .eventId(TimeOrderedUuid.next())
+                .eventDateTime(LocalDateTime.now())
+                .paymentId(payment.getId())
+                .payerId(payment.getPayerId())
+                .payeeId(payment.getPayeeId())
+                .amount(payment.getAmount())
+                .currency(payment.getCurrency())
+                .status(status.name())
+                .payerEmail(payment.getPayerEmail())
+                .description(description)
+                .build();
+
+        kafkaTemplate.send(PAYMENT_PROCESSED_TOPIC, payment.getId().toString(), event);
+        log.info("📤 Evento payment-processed publicado: paymentId={}, status={}", payment.getId(), status);
+    }
 
-            return response.getStatusCode().is2xxSuccessful();
-        } catch (Exception e) {
-            log.error("Critical error when trying to return the value", e);
-            return false;
+    private void compensate(List<SagaStep> completed, PaymentEntity payment) {
+        // approve and publish are undone by failSaga itself; only the debit moved money elsewhere
+        if (completed.contains(SagaStep.DEBIT)) {
+            if (refundPayer(payment.getPayerId(), payment.getAmount())) {
+                refunded.increment();
+                log.info("Chargeback successfully carried out. Customer balance restored.");
+            } else {
+                refundFailed.increment();
+                log.error("Refurbishment failure. The customer was charged but the transaction failed.");
+            }
         }
     }
 
-    private void publishPaymentCompletedEvent(PaymentEntity payment) {
+    private boolean refundPayer(UUID merchantId, BigDecimal amount) {
         try {
-            PaymentCompletedEvent event = PaymentCompletedEvent.builder()
-                    .eventId(UUID.randomUUID())
-                    .eventDateTime(LocalDateTime.now())
-                    .paymentId(payment.getId())
-                    .payerId(payment.getPayerId())
-                    .payerEmail("")
-                    .payeeId(payment.getPayeeId())
-                    .amount(payment.getAmount())
-                    .currency(payment.getCurrency())
-                    .status(PaymentStatus.APPROVED)
-                    .build();
-
-            kafkaTemplate.send("payment-completed", payment.getId().toString(), event);
-            log.info("📤 Kafka PaymentCompletedEvent enviado: paymentId={}, payeeId={}, amount={}",
-                    payment.getId(), payment.getPayeeId(), payment.getAmount());
-
+            return merchantClient.credit(merchantId, amount).join();
         } catch (Exception e) {
-            log.error("❌ Erro ao publicar PaymentCompletedEvent:", e);
-            throw new PaymentProcessingException("Kafka publish failed", e);
+            log.error("Critical error when trying to return the value", e);
+            return false;
         }
     }
 
-    private void failSaga(PaymentEntity payment, String reason) {
+    // true when the REJECTED row was stored, whatever happens to the event and the notification after it
+    private boolean failSaga(PaymentEntity payment, String reason) {
+        rejected.increment();
+        boolean stored = false;
         try {
             payment.setStatus(PaymentStatus.REJECTED);
             paymentRepository.save(payment);
-            paymentEventStore.savePaymentRejectedEvent(payment.getId());
+            stored = true;
+            paymentEventStore.savePaymentRejectedEvent(payment);
             log.error("❌ [SAGA REJECTED] Payment {} | Reason: {}", payment.getId(), reason);
+
+            if (steps.contains(SagaStep.PUBLISH)) {
+                publishProcessed(payment, PaymentStatus.REJECTED, "Erro ao processar: " + reason);
+            }
         } catch (Exception e) {
             log.error("❌ Erro ao falhar saga:", e);
         }
+        return stored;
+    }
+
+    private static List<SagaStep> validate(List<SagaStep> steps) {
+        if (!steps.contains(SagaStep.APPROVE)) {
+            throw new IllegalArgumentException("Saga pipeline must contain the APPROVE step: " + steps);
+        }
+        // merchant-service settlement only credits the payee, so the payer is debited here or not at all
+        if (!steps.contains(SagaStep.DEBIT) || steps.indexOf(SagaStep.DEBIT) > steps.indexOf(SagaStep.APPROVE)) {
+            throw new IllegalArgumentException("Saga pipeline must debit the payer before approving: " + steps);
+        }
+        if (EnumSet.copyOf(steps).size() != steps.size()) {
+            throw new IllegalArgumentException("Saga pipeline must not repeat steps: " + steps);
+        }
+        if (steps.contains(SagaStep.PUBLISH) && steps.indexOf(SagaStep.PUBLISH) < steps.indexOf(SagaStep.APPROVE)) {
+            throw new IllegalArgumentException("Saga pipeline must publish only after approving: " + steps);
+        }
+        return List.copyOf(steps);
+    }
+
+    private static Timer stepTimer(MeterRegistry meterRegistry, String step, String outcome) {
+        return Timer.builder("payment.saga.step")
+                .tag("step", step)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record StepTimers(Timer success, Timer failure) {
+
+        SagaStepStatsDto snapshot(SagaStep step, double elapsedSeconds) {
+            long completed = success.count();
+            long failed = failure.count();
+            long runs = completed + failed;
+            double totalMicros = success.totalTime(TimeUnit.MICROSECONDS) + failure.totalTime(TimeUnit.MICROSECONDS);
+            double averageMicros = runs == 0 ? 0 : totalMicros / runs;
+            return new SagaStepStatsDto(step, completed, failed, averageMicros, completed / elapsedSeconds);
+        }
     }
 }
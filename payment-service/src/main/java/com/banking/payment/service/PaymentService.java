@@ -1,37 +1,138 @@
 package com.banking.payment.service;
 
+import com.banking.core.enums.PaymentStatus;
 import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.core.id.TimeOrderedUuid;
 import com.banking.payment.dto.PaymentDetailsDto;
 import com.banking.payment.dto.PaymentDto;
+import com.banking.payment.dto.PaymentPageDto;
 import com.banking.payment.exception.InvalidPaymentException;
 import com.banking.payment.exception.PaymentNotFoundException;
 import com.banking.payment.mapper.PaymentMapper;
 import com.banking.payment.model.Payment;
 import com.banking.payment.model.PaymentEntity;
+import com.banking.payment.model.PaymentEventEntity;
 import com.banking.payment.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final PaymentRepository paymentRepository;
     private final PaymentEventStore paymentEventStore;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final PaymentOutbox paymentOutbox;
+    private final PaymentIdempotencyStore paymentIdempotencyStore;
+    private final MerchantDirectory merchantDirectory;
 
     @Transactional
     public UUID createPayment(PaymentDto request) {
+        return createPayment(request, null);
+    }
+
+    @Transactional
+    public UUID createPayment(PaymentDto request, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<UUID> original = paymentIdempotencyStore.find(idempotencyKey, request);
+            if (original.isPresent()) {
+                log.info("🔁 Idempotency-Key repetida, retornando payment {}", original.get());
+                return original.get();
+            }
+        }
+
+        Payment payment = newPayment(request);
+        merchantDirectory.validate(payment);
+        if (idempotencyKey != null) {
+            // claimed before any other write so a concurrent retry blocks here instead of creating a second saga
+            UUID owner = paymentIdempotencyStore.claim(idempotencyKey, payment.getId(), request);
+            if (!owner.equals(payment.getId())) {
+                log.info("🔁 Idempotency-Key já utilizada, retornando payment {}", owner);
+                return owner;
+            }
+        }
+        log.info("💳 Criando payment: {} → {}", request.payerId(), request.payeeId());
+
+        PaymentEntity paymentEntity = PaymentMapper.toEntity(payment);
+        paymentRepository.save(paymentEntity);
+        log.info("💾 Payment salvo com id: {}", paymentEntity.getId());
+
+        paymentEventStore.savePaymentCreatedEvent(
+                paymentEntity.getId(),
+                payment.getPayerId(),
+                payment.getPayeeId(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                payment.getStatus()
+        );
+
+        paymentOutbox.enqueue("payment-created", payment.getId().toString(), createdEvent(payment));
+
+        return payment.getId();
+    }
+
+    public PaymentDetailsDto getPaymentById(UUID id) {
+        log.info("🔍 Buscando payment: {}", id);
+        return paymentRepository.findById(id)
+                .map(PaymentDetailsDto::fromEntity)
+                .orElseThrow(() -> new PaymentNotFoundException("Payment not found: " + id));
+    }
+
+    /**
+     * Payment details as a status stream may show them. The row turns APPROVED in the middle of the saga and
+     * goes back to REJECTED if a later step fails, so the status comes from the journal, which records a
+     * status only once the saga settles on it.
+     */
+    public PaymentDetailsDto getSettledPayment(UUID id) {
+        PaymentDetailsDto payment = getPaymentById(id);
+        List<PaymentEventEntity> history = paymentEventStore.getPaymentHistory(id);
+        PaymentStatus settled = history.isEmpty() ? PaymentStatus.PENDING : history.getLast().getStatus();
+        return new PaymentDetailsDto(
+                payment.id(), payment.payerId(), payment.payeeId(), payment.amount(), payment.currency(), settled
+        );
+    }
 
+    @Transactional(readOnly = true)
+    public PaymentPageDto getPayments(UUID payerId, UUID payeeId, PaymentStatus status, UUID after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        log.info("📊 Listando pagamentos: payer={}, payee={}, status={}, after={}, limit={}",
+                payerId, payeeId, status, after, pageSize);
+
+        Specification<PaymentEntity> filter = Specification.allOf(
+                attributeEquals("payerId", payerId),
+                attributeEquals("payeeId", payeeId),
+                attributeEquals("status", status),
+                idAfter(after)
+        );
+
+        List<PaymentEntity> rows = paymentRepository.findBy(filter, query -> query
+                .sortBy(Sort.by("id"))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<PaymentDetailsDto> items = rows.stream()
+                .limit(pageSize)
+                .map(PaymentDetailsDto::fromEntity)
+                .toList();
+
+        UUID nextCursor = hasNext ? items.getLast().id() : null;
+        return new PaymentPageDto(items, nextCursor);
+    }
+
+    static Payment newPayment(PaymentDto request) {
         if( request == null ) {
             throw new InvalidPaymentException("Payment request cannot be null");
         }
@@ -52,7 +153,9 @@ public class PaymentService {
             throw new InvalidPaymentException("Amount cannot have more than 2 decimal places");
         }
 
-        log.info("💳 Criando payment: {} → {}", request.payerId(), request.payeeId());
+        if (request.currency() == null) {
+            throw new InvalidPaymentException("Currency cannot be null or empty");
+        }
 
         Payment payment = new Payment(
                 null,
@@ -65,23 +168,13 @@ public class PaymentService {
         );
 
         payment.initialize();
-        payment.setId(UUID.randomUUID());
-
-        PaymentEntity paymentEntity = PaymentMapper.toEntity(payment);
-        paymentRepository.save(paymentEntity);
-        log.info("💾 Payment salvo com id: {}", paymentEntity.getId());
-
-        paymentEventStore.savePaymentCreatedEvent(
-                paymentEntity.getId(),
-                payment.getPayerId(),
-                payment.getPayeeId(),
-                payment.getAmount(),
-                payment.getCurrency(),
-                payment.getStatus()
-        );
+        payment.setId(TimeOrderedUuid.next());
+        return payment;
+    }
 
-        PaymentCreatedEvent createdEvent = PaymentCreatedEvent.builder()
-                .eventId(UUID.randomUUID())
+    static PaymentCreatedEvent createdEvent(Payment payment) {
+        return PaymentCreatedEvent.builder()
+                .eventId(TimeOrderedUuid.next())
                 .eventDateTime(LocalDateTime.now())
                 .paymentId(payment.getId())
                 .payerId(payment.getPayerId())
@@ -91,33 +184,14 @@ public class PaymentService {
                 .status(payment.getStatus())
                 .payerEmail(payment.getPayerEmail())
                 .build();
-
-        kafkaTemplate.send("payment-created", payment.getId().toString(), createdEvent);
-        log.info("📤 Kafka event sent: payment-created");
-
-        return payment.getId();
     }
 
-    public PaymentDetailsDto getPaymentById(UUID id) {
-        log.info("🔍 Buscando payment: {}", id);
-        return paymentRepository.findById(id)
-                .map(PaymentDetailsDto::fromEntity)
-                .orElseThrow(() -> new PaymentNotFoundException("Payment not found: " + id));
+    private static Specification<PaymentEntity> attributeEquals(String attribute, Object value) {
+        return (root, query, cb) -> value == null ? null : cb.equal(root.get(attribute), value);
     }
 
-    public List<PaymentDetailsDto> getPaymentsByPayer(UUID payerId) {
-        log.info("📊 Pagamentos do payer: {}", payerId);
-        return paymentRepository.findAll().stream()
-                .filter(p -> p.getPayerId().equals(payerId))
-                .map(PaymentDetailsDto::fromEntity)
-                .collect(Collectors.toList());
-    }
-
-    public List<PaymentDetailsDto> getAllPayments() {
-        log.info("📊 Listando todos os pagamentos");
-        return paymentRepository.findAll().stream()
-                .map(PaymentDetailsDto::fromEntity)
-                .collect(Collectors.toList());
+    private static Specification<PaymentEntity> idAfter(UUID after) {
+        return (root, query, cb) -> after == null ? null : cb.greaterThan(root.get("id"), after);
     }
 
     @Transactional
@@ -131,7 +205,7 @@ public class PaymentService {
         entity.setStatus(payment.getStatus());
         paymentRepository.save(entity);
 
-        paymentEventStore.savePaymentApprovedEvent(id);
+        paymentEventStore.savePaymentApprovedEvent(entity);
     }
 
     @Transactional
@@ -146,6 +220,6 @@ public class PaymentService {
         entity.setStatus(payment.getStatus());
         paymentRepository.save(entity);
 
-        paymentEventStore.savePaymentRejectedEvent(id);
+        paymentEventStore.savePaymentRejectedEvent(entity);
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.banking.payment.service;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.payment.dto.PaymentDetailsDto;
+import com.banking.payment.dto.PaymentStatusChanged;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class PaymentStatusHub {
+    private static final String STATUS_EVENT = "status";
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+
+    public PaymentStatusHub(@Value("${payment.stream.timeout-ms:300000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(UUID paymentId, Supplier<PaymentDetailsDto> currentState) {
+        Subscriber subscriber = new Subscriber(paymentId, new SseEmitter(timeoutMs));
+        subscriber.emitter.onCompletion(() -> unregister(subscriber));
+        subscriber.emitter.onTimeout(() -> unregister(subscriber));
+        subscriber.emitter.onError(e -> unregister(subscriber));
+
+        // register before reading so a transition committed in between is pushed rather than lost
+        subscribers.compute(paymentId, (id, targets) -> {
+            Set<Subscriber> registered = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            registered.add(subscriber);
+            return registered;
+        });
+
+        PaymentDetailsDto snapshot;
+        try {
+            snapshot = currentState.get();
+        } catch (RuntimeException e) {
+            unregister(subscriber);
+            throw e;
+        }
+
+        subscriber.send(snapshot);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(PaymentStatusChanged event) {
+        Set<Subscriber> targets = subscribers.get(event.payment().id());
+        if (targets == null) {
+            return;
+        }
+
+        log.info("📡 Enviando status {} para {} assinantes do payment {}",
+                event.payment().status(), targets.size(), event.payment().id());
+        targets.forEach(subscriber -> fanOut.execute(() -> subscriber.send(event.payment())));
+    }
+
+    @Scheduled(fixedDelayString = "${payment.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(targets ->
+                targets.forEach(subscriber -> fanOut.execute(subscriber::ping)));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(targets -> targets.forEach(Subscriber::close));
+        subscribers.clear();
+        fanOut.shutdown();
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.paymentId, (id, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    private final class Subscriber {
+        private final UUID paymentId;
+        private final SseEmitter emitter;
+        private boolean closed;
+
+        private Subscriber(UUID paymentId, SseEmitter emitter) {
+            this.paymentId = paymentId;
+            this.emitter = emitter;
+        }
+
+        // a stale snapshot racing a pushed terminal status is dropped because the stream is already closed
+        private synchronized void send(PaymentDetailsDto payment) {
+            if (closed) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(STATUS_EVENT)
+                        .data(payment));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Assinante do payment {} desconectado: {}", paymentId, e.getMessage());
+                close();
+                return;
+            }
+
+            if (payment.status() != PaymentStatus.PENDING) {
+                close();
+            }
+        }
+
+        private synchronized void ping() {
+            if (closed) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unregister(this);
+            emitter.complete();
+        }
+    }
+}
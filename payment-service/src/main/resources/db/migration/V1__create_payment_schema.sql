@@ -0,0 +1,62 @@
+-- Pagamentos (estado atual)
+CREATE TABLE IF NOT EXISTS payments (
+    id UUID PRIMARY KEY,
+    payer_id UUID NOT NULL,
+    payer_email VARCHAR(255),
+    payee_id UUID NOT NULL,
+    amount NUMERIC(38, 2) NOT NULL,
+    currency VARCHAR(255) NOT NULL DEFAULT 'BRL',
+    status VARCHAR(255) NOT NULL DEFAULT 'PENDING',
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- listagem paginada por cursor (id) com filtro opcional
+CREATE INDEX IF NOT EXISTS idx_payments_payer_id ON payments (payer_id, id);
+CREATE INDEX IF NOT EXISTS idx_payments_payee_id ON payments (payee_id, id);
+CREATE INDEX IF NOT EXISTS idx_payments_status ON payments (status, id);
+
+-- Event store
+CREATE TABLE IF NOT EXISTS payment_events (
+    id UUID PRIMARY KEY,
+    payment_id UUID NOT NULL REFERENCES payments (id),
+    payer_id UUID NOT NULL,
+    payee_id UUID NOT NULL,
+    amount NUMERIC(38, 2) NOT NULL,
+    currency VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    event_date_time TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- históricos por pagamento, pagador e recebedor, já na ordem dos eventos
+CREATE INDEX IF NOT EXISTS idx_payment_events_payment ON payment_events (payment_id, event_date_time);
+CREATE INDEX IF NOT EXISTS idx_payment_events_payer ON payment_events (payer_id, event_date_time);
+CREATE INDEX IF NOT EXISTS idx_payment_events_payee ON payment_events (payee_id, event_date_time);
+
+-- Transactional outbox
+CREATE TABLE IF NOT EXISTS payment_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255) NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Idempotency-Key de POST /api/payments
+CREATE TABLE IF NOT EXISTS payment_idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    payment_id UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_idempotency_keys_created_at ON payment_idempotency_keys (created_at);
+
+-- Eventos Kafka já processados (deduplicação)
+CREATE TABLE IF NOT EXISTS payment_processed_events (
+    event_id UUID PRIMARY KEY,
+    processed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_processed_events_processed_at ON payment_processed_events (processed_at);
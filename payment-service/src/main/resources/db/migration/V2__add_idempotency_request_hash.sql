@@ -0,0 +1,2 @@
+-- Hash do corpo da requisição que reivindicou a chave; nulo nas chaves gravadas antes desta coluna
+ALTER TABLE payment_idempotency_keys ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
@@ -0,0 +1,126 @@
+package com.banking.payment;
+
+import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.payment.dto.DeadLetterRedriveDto;
+import com.banking.payment.exception.InvalidDeadLetterTopicException;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.service.DeadLetterRedriveService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadLetterRedriveServiceTest {
+    private static final String DLT = "payment-created-saga-dlt";
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    @Mock private ConsumerFactory<String, Object> consumerFactory;
+    @Mock private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private MockConsumer<String, Object> consumer;
+    private DeadLetterRedriveService service;
+
+    @BeforeEach
+    void setUp() {
+        // kept open after the redrive so the committed offsets can be asserted
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void close() {
+            }
+        };
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        service = new DeadLetterRedriveService(consumerFactory, kafkaTemplate, 1000);
+    }
+
+    private void deadLetter(long offset, Object value) {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(DLT, 0, offset, "key-" + offset, value);
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, "payment-created".getBytes(StandardCharsets.UTF_8));
+        consumer.schedulePollTask(() -> consumer.addRecord(record));
+    }
+
+    private void givenConsumer() {
+        when(consumerFactory.createConsumer(eq("dead-letter-redrive"), isNull(), isNull(), any(Properties.class)))
+                .thenReturn(consumer);
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should reject topics that are not dead-letter topics")
+        void shouldRejectNonDeadLetterTopic() {
+            assertThrows(InvalidDeadLetterTopicException.class, () -> service.redrive("payment-created", 10));
+
+            verifyNoInteractions(consumerFactory, kafkaTemplate);
+        }
+
+        @UnitTest
+        @DisplayName("should republish dead letters to the group's first retry topic and skip unreadable ones")
+        void shouldRedriveToGroupRetryTopic() {
+            givenConsumer();
+            PaymentCreatedEvent event = PaymentCreatedEvent.builder().paymentId(UUID.randomUUID()).build();
+            consumer.updateEndOffsets(Map.of(PARTITION, 2L));
+            deadLetter(0, event);
+            deadLetter(1, null);
+            when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            DeadLetterRedriveDto result = service.redrive(DLT, 10);
+
+            assertEquals(new DeadLetterRedriveDto(DLT, 1, 1), result);
+            verify(kafkaTemplate).send("payment-created-saga-retry-0", "key-0", event);
+            verify(kafkaTemplate, never()).send(eq("payment-created"), anyString(), any());
+            assertEquals(2L, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+        }
+
+        @UnitTest
+        @DisplayName("should map each group's dead-letter topic to that group's own retry topic")
+        void shouldMapDeadLetterTopicToGroupRetryTopic() {
+            assertEquals("payment-created-saga-retry-0", DeadLetterRedriveService.redriveTopic(DLT));
+            assertEquals("payment-processed-notification-retry-0",
+                    DeadLetterRedriveService.redriveTopic("payment-processed-notification-dlt"));
+            assertEquals("payment-processed-merchant-retry-0",
+                    DeadLetterRedriveService.redriveTopic("payment-processed-merchant-dlt"));
+        }
+
+        @UnitTest
+        @DisplayName("should stop after max dead letters and commit only those")
+        void shouldStopAtMax() {
+            givenConsumer();
+            consumer.updateEndOffsets(Map.of(PARTITION, 2L));
+            deadLetter(0, PaymentCreatedEvent.builder().paymentId(UUID.randomUUID()).build());
+            deadLetter(1, PaymentCreatedEvent.builder().paymentId(UUID.randomUUID()).build());
+            when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            DeadLetterRedriveDto result = service.redrive(DLT, 1);
+
+            assertEquals(1, result.redriven());
+            verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any());
+            assertEquals(1L, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.banking.payment;
+
+import com.banking.payment.client.MerchantClient;
+import com.banking.payment.interfaces.UnitTest;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MerchantClientTest {
+    private static final UUID REJECTING_MERCHANT = new UUID(0, 0);
+    private static final UUID SLOW_MERCHANT = new UUID(0, 1);
+
+    private HttpServer server;
+    private MerchantClient merchantClient;
+    private final AtomicReference<String> lastBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/merchants", exchange -> {
+            lastBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String path = exchange.getRequestURI().getPath();
+            if (path.contains(SLOW_MERCHANT.toString())) {
+                sleep(500);
+            }
+            int status = path.contains(REJECTING_MERCHANT.toString()) ? 400 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        merchantClient = new MerchantClient(httpClient, "http://localhost:" + server.getAddress().getPort(), 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should report success and send the amount as JSON when merchant-service answers 2xx")
+        void shouldReturnTrueOn2xx() {
+            boolean success = merchantClient.debit(UUID.randomUUID(), new BigDecimal("12.50")).join();
+
+            assertTrue(success);
+            assertEquals("{\"amount\":12.50}", lastBody.get());
+        }
+
+        @UnitTest
+        @DisplayName("should report failure when merchant-service rejects the debit")
+        void shouldReturnFalseOnClientError() {
+            boolean success = merchantClient.debit(REJECTING_MERCHANT, BigDecimal.TEN).join();
+
+            assertFalse(success);
+        }
+
+        @UnitTest
+        @DisplayName("should report failure instead of hanging when merchant-service exceeds the request timeout")
+        void shouldReturnFalseOnTimeout() {
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () ->
+                    assertFalse(merchantClient.credit(SLOW_MERCHANT, BigDecimal.ONE).join())
+            );
+        }
+    }
+}
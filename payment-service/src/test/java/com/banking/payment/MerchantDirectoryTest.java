@@ -0,0 +1,132 @@
+package com.banking.payment;
+
+import com.banking.core.event.MerchantUpdatedEvent;
+import com.banking.payment.exception.InvalidPaymentException;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.model.Payment;
+import com.banking.payment.service.MerchantDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MerchantDirectoryTest {
+    private static final String TOPIC = "merchant-directory";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    private final UUID payer = UUID.randomUUID();
+    private final UUID payee = UUID.randomUUID();
+
+    @Mock private ConsumerFactory<String, Object> consumerFactory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockConsumer<String, Object> consumer;
+    private MerchantDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        directory = new MerchantDirectory(consumerFactory, meterRegistry, TOPIC, true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        directory.shutdown();
+    }
+
+    private void record(long offset, UUID merchantId, String balance) {
+        Object value = balance == null ? null : MerchantUpdatedEvent.builder()
+                .merchantId(merchantId)
+                .balance(new BigDecimal(balance))
+                .currency("BRL")
+                .build();
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(TOPIC, 0, offset, merchantId.toString(), value);
+        consumer.schedulePollTask(() -> consumer.addRecord(record));
+    }
+
+    private void startAndAwaitReady() throws InterruptedException {
+        when(consumerFactory.createConsumer(eq("payment-merchant-directory"), isNull(), isNull(), any(Properties.class)))
+                .thenReturn(consumer);
+        directory.start();
+        for (int i = 0; i < 100 && !directory.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(directory.isReady());
+    }
+
+    private Payment payment(UUID payerId, UUID payeeId, String amount) {
+        return new Payment(UUID.randomUUID(), payerId, "payer@test.com", payeeId, new BigDecimal(amount), "BRL", null);
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should let every payment through until the topic has been replayed")
+        void shouldNotValidateBeforeReady() {
+            assertFalse(directory.isReady());
+            assertDoesNotThrow(() -> directory.validate(payment(UUID.randomUUID(), UUID.randomUUID(), "100.00")));
+        }
+
+        @UnitTest
+        @DisplayName("should reject underfunded payers once caught up and let unknown merchants through")
+        void shouldRejectInvalidPaymentsOnceReady() throws InterruptedException {
+            consumer.updateEndOffsets(Map.of(PARTITION, 3L));
+            record(0, payer, "10.00");
+            record(1, payee, "0.00");
+            record(2, payer, "50.00");
+
+            startAndAwaitReady();
+
+            assertEquals(2, directory.size());
+            assertDoesNotThrow(() -> directory.validate(payment(payer, payee, "50.00")));
+            InvalidPaymentException underfunded = assertThrows(InvalidPaymentException.class,
+                    () -> directory.validate(payment(payer, payee, "50.01")));
+            assertEquals("Insufficient balance", underfunded.getMessage());
+            assertDoesNotThrow(() -> directory.validate(payment(UUID.randomUUID(), payee, "1.00")));
+            assertDoesNotThrow(() -> directory.validate(payment(payer, UUID.randomUUID(), "1.00")));
+            assertEquals(2.0, meterRegistry.counter("payment.merchant.directory.misses").count());
+        }
+
+        @UnitTest
+        @DisplayName("should drop a merchant on a tombstone")
+        void shouldRemoveMerchantOnTombstone() throws InterruptedException {
+            consumer.updateEndOffsets(Map.of(PARTITION, 3L));
+            record(0, payer, "10.00");
+            record(1, payee, "10.00");
+            record(2, payee, null);
+
+            startAndAwaitReady();
+
+            assertEquals(1, directory.size());
+            assertDoesNotThrow(() -> directory.validate(payment(payer, payee, "1.00")));
+            assertEquals(1.0, meterRegistry.counter("payment.merchant.directory.misses").count());
+        }
+
+    }
+
+}
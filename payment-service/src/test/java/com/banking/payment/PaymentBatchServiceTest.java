@@ -0,0 +1,136 @@
+package com.banking.payment;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.payment.dto.PaymentBatchItemDto;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.model.PaymentEntity;
+import com.banking.payment.service.MerchantDirectory;
+import com.banking.payment.service.PaymentBatchService;
+import com.banking.payment.service.PaymentEventStore;
+import com.banking.payment.service.PaymentOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentBatchServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PaymentEventStore paymentEventStore;
+    @Mock private PaymentOutbox paymentOutbox;
+    @Mock private MerchantDirectory merchantDirectory;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private PaymentBatchService paymentBatchService;
+
+    @BeforeEach
+    void setUp() {
+        paymentBatchService = new PaymentBatchService(
+                new ObjectMapper(), jdbcTemplate, paymentEventStore, paymentOutbox, merchantDirectory, transactionManager, 2
+        );
+    }
+
+    private static String item(String amount) {
+        return """
+                {"payerId":"%s","payerEmail":"payer@test.com","payeeId":"%s","amount":%s,"currency":"BRL"}
+                """.formatted(UUID.randomUUID(), UUID.randomUUID(), amount);
+    }
+
+    private List<PaymentBatchItemDto> submit(String json) {
+        return paymentBatchService.createPayments(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should store valid items in chunks and report errors for invalid ones in request order")
+        @SuppressWarnings("unchecked")
+        void shouldStoreValidItemsAndReportInvalidOnes() {
+            String json = "[" + String.join(",", item("10.00"), item("0"), item("20.00"), item("30.00")) + "]";
+
+            List<PaymentBatchItemDto> results = submit(json);
+
+            assertEquals(4, results.size());
+            assertEquals(List.of(0, 1, 2, 3), results.stream().map(PaymentBatchItemDto::index).toList());
+            assertNotNull(results.get(0).paymentId());
+            assertNull(results.get(1).paymentId());
+            assertEquals("Amount must be greater than zero", results.get(1).error());
+            assertNotNull(results.get(2).paymentId());
+            assertNotNull(results.get(3).paymentId());
+
+            verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+            verify(paymentOutbox, times(2)).enqueueAll(eq("payment-created"), anyList(), any());
+
+            ArgumentCaptor<List<PaymentEntity>> stored = ArgumentCaptor.forClass(List.class);
+            verify(paymentEventStore, times(2)).savePaymentCreatedEvents(stored.capture());
+            List<PaymentEntity> firstChunk = stored.getAllValues().getFirst();
+            assertEquals(2, firstChunk.size());
+            assertEquals(results.get(0).paymentId(), firstChunk.getFirst().getId());
+            assertEquals(PaymentStatus.PENDING, firstChunk.getFirst().getStatus());
+            assertEquals("payer@test.com", firstChunk.getFirst().getPayerEmail());
+        }
+
+        @UnitTest
+        @DisplayName("should keep items read before a syntax error and report where the body broke")
+        void shouldKeepItemsBeforeMalformedJson() {
+            String json = "[" + item("10.00") + ", {\"payerId\": ]";
+
+            List<PaymentBatchItemDto> results = submit(json);
+
+            assertEquals(2, results.size());
+            assertNotNull(results.get(0).paymentId());
+            assertEquals(1, results.get(1).index());
+            assertTrue(results.get(1).error().startsWith("Malformed JSON"));
+            verify(paymentEventStore).savePaymentCreatedEvents(anyList());
+        }
+
+        @UnitTest
+        @DisplayName("should reject an item whose fields cannot be mapped")
+        void shouldRejectUnmappableItem() {
+            String json = "[{\"payerId\":\"not-a-uuid\",\"amount\":10}]";
+
+            List<PaymentBatchItemDto> results = submit(json);
+
+            assertEquals(1, results.size());
+            assertNull(results.getFirst().paymentId());
+            assertTrue(results.getFirst().error().startsWith("Invalid payment"));
+            verifyNoInteractions(jdbcTemplate, paymentEventStore, paymentOutbox);
+        }
+
+        @UnitTest
+        @DisplayName("should fail only the chunk whose write failed")
+        void shouldFailOnlyTheFailedChunk() {
+            doThrow(new RuntimeException("connection reset"))
+                    .doNothing()
+                    .when(paymentEventStore).savePaymentCreatedEvents(anyList());
+            String json = "[" + String.join(",", item("10.00"), item("20.00"), item("30.00")) + "]";
+
+            List<PaymentBatchItemDto> results = submit(json);
+
+            assertEquals(3, results.size());
+            assertEquals("Failed to store payment: connection reset", results.get(0).error());
+            assertEquals("Failed to store payment: connection reset", results.get(1).error());
+            assertNotNull(results.get(2).paymentId());
+            verify(paymentOutbox, times(1)).enqueueAll(eq("payment-created"), anyList(), any());
+        }
+    }
+}
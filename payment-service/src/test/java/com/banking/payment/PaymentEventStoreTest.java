@@ -0,0 +1,90 @@
+package com.banking.payment;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.payment.dto.PaymentStatusChanged;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.model.PaymentEntity;
+import com.banking.payment.model.PaymentEventEntity;
+import com.banking.payment.service.PaymentEventJournal;
+import com.banking.payment.service.PaymentEventStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentEventStoreTest {
+
+    @Mock private PaymentEventJournal paymentEventJournal;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks private PaymentEventStore paymentEventStore;
+
+    private PaymentEntity payment() {
+        return PaymentEntity.builder()
+                .id(UUID.randomUUID())
+                .payerId(UUID.randomUUID())
+                .payeeId(UUID.randomUUID())
+                .amount(new BigDecimal("42.00"))
+                .currency("BRL")
+                .status(PaymentStatus.PENDING)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should journal the approval from the given payment without reading it again")
+        void shouldJournalApprovalFromGivenPayment() {
+            PaymentEntity payment = payment();
+
+            paymentEventStore.savePaymentApprovedEvent(payment);
+
+            ArgumentCaptor<PaymentEventEntity> event = ArgumentCaptor.forClass(PaymentEventEntity.class);
+            verify(paymentEventJournal).append(event.capture());
+            assertEquals(payment.getId(), event.getValue().getPaymentId());
+            assertEquals(payment.getPayerId(), event.getValue().getPayerId());
+            assertEquals(payment.getAmount(), event.getValue().getAmount());
+            assertEquals(PaymentStatus.APPROVED, event.getValue().getStatus());
+            assertEquals("PAYMENT_APPROVED", event.getValue().getEventType());
+            assertEquals(7, event.getValue().getId().version());
+        }
+
+        @UnitTest
+        @DisplayName("should announce the rejection only after it was journaled")
+        void shouldPublishRejectionAfterJournaling() {
+            PaymentEntity payment = payment();
+
+            paymentEventStore.savePaymentRejectedEvent(payment);
+
+            var order = inOrder(paymentEventJournal, eventPublisher);
+            order.verify(paymentEventJournal).append(any(PaymentEventEntity.class));
+            ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+            order.verify(eventPublisher).publishEvent(published.capture());
+            PaymentStatusChanged changed = assertInstanceOf(PaymentStatusChanged.class, published.getValue());
+            assertEquals(PaymentStatus.REJECTED, changed.payment().status());
+        }
+
+        @UnitTest
+        @DisplayName("should not announce the status change when journaling fails")
+        void shouldNotPublishWhenJournalFails() {
+            doThrow(new IllegalStateException("database down")).when(paymentEventJournal).append(any(PaymentEventEntity.class));
+
+            assertThrows(IllegalStateException.class, () -> paymentEventStore.savePaymentApprovedEvent(payment()));
+
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.banking.payment;
+
+import com.banking.payment.dto.PaymentDto;
+import com.banking.payment.exception.IdempotencyKeyConflictException;
+import com.banking.payment.exception.InvalidPaymentException;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.model.IdempotencyKeyEntity;
+import com.banking.payment.repository.IdempotencyKeyRepository;
+import com.banking.payment.service.PaymentIdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentIdempotencyStoreTest {
+
+    @Mock private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private PaymentIdempotencyStore paymentIdempotencyStore;
+    private final PaymentDto request = new PaymentDto(
+            UUID.randomUUID(), "payer@bank.com", UUID.randomUUID(), new BigDecimal("10.00"), "BRL"
+    );
+
+    @BeforeEach
+    void setUp() {
+        paymentIdempotencyStore = new PaymentIdempotencyStore(
+                idempotencyKeyRepository, jdbcTemplate, new SimpleMeterRegistry(), 100, 24
+        );
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should serve a committed claim from memory without reading the key table")
+        void shouldServeCommittedClaimFromMemory() {
+            UUID paymentId = UUID.randomUUID();
+            when(jdbcTemplate.update(anyString(), eq("retry-1"), eq(paymentId), any(LocalDateTime.class), anyString())).thenReturn(1);
+
+            assertEquals(paymentId, paymentIdempotencyStore.claim("retry-1", paymentId, request));
+            commit();
+
+            assertEquals(Optional.of(paymentId), paymentIdempotencyStore.find("retry-1", request));
+            verifyNoInteractions(idempotencyKeyRepository);
+        }
+
+        @UnitTest
+        @DisplayName("should not remember a claim whose transaction has not committed")
+        void shouldNotCacheUncommittedClaim() {
+            UUID paymentId = UUID.randomUUID();
+            when(jdbcTemplate.update(anyString(), eq("retry-1"), eq(paymentId), any(LocalDateTime.class), anyString())).thenReturn(1);
+            when(idempotencyKeyRepository.findById("retry-1")).thenReturn(Optional.empty());
+
+            paymentIdempotencyStore.claim("retry-1", paymentId, request);
+
+            assertEquals(Optional.empty(), paymentIdempotencyStore.find("retry-1", request));
+        }
+
+        @UnitTest
+        @DisplayName("should return the stored payment when another request already claimed the key")
+        void shouldReturnOwnerOfAlreadyClaimedKey() {
+            UUID owner = UUID.randomUUID();
+            when(jdbcTemplate.update(anyString(), eq("retry-1"), any(UUID.class), any(LocalDateTime.class), anyString())).thenReturn(0);
+            when(idempotencyKeyRepository.findById("retry-1")).thenReturn(Optional.of(
+                    new IdempotencyKeyEntity("retry-1", owner, LocalDateTime.now(), PaymentIdempotencyStore.requestHash(request))
+            ));
+
+            assertEquals(owner, paymentIdempotencyStore.claim("retry-1", UUID.randomUUID(), request));
+            assertEquals(Optional.of(owner), paymentIdempotencyStore.find("retry-1", request));
+            verify(idempotencyKeyRepository, times(1)).findById("retry-1");
+        }
+
+        @UnitTest
+        @DisplayName("should treat amounts that differ only in scale as the same request")
+        void shouldIgnoreAmountScale() {
+            PaymentDto rescaled = new PaymentDto(
+                    request.payerId(), request.payerEmail(), request.payeeId(), new BigDecimal("10"), request.currency()
+            );
+
+            assertEquals(PaymentIdempotencyStore.requestHash(request), PaymentIdempotencyStore.requestHash(rescaled));
+        }
+
+        @UnitTest
+        @DisplayName("should reject a key reused with a different request")
+        void shouldRejectKeyReusedWithDifferentRequest() {
+            UUID paymentId = UUID.randomUUID();
+            PaymentDto other = new PaymentDto(
+                    request.payerId(), request.payerEmail(), request.payeeId(), new BigDecimal("99.00"), request.currency()
+            );
+            when(jdbcTemplate.update(anyString(), eq("retry-1"), eq(paymentId), any(LocalDateTime.class), anyString())).thenReturn(1);
+
+            paymentIdempotencyStore.claim("retry-1", paymentId, request);
+            commit();
+
+            assertThrows(IdempotencyKeyConflictException.class, () -> paymentIdempotencyStore.find("retry-1", other));
+            assertEquals(Optional.of(paymentId), paymentIdempotencyStore.find("retry-1", request));
+        }
+
+        @UnitTest
+        @DisplayName("should reject a lost claim whose winner was created from a different request")
+        void shouldRejectLostClaimForDifferentRequest() {
+            PaymentDto other = new PaymentDto(
+                    request.payerId(), request.payerEmail(), UUID.randomUUID(), request.amount(), request.currency()
+            );
+            when(jdbcTemplate.update(anyString(), eq("retry-1"), any(UUID.class), any(LocalDateTime.class), anyString())).thenReturn(0);
+            when(idempotencyKeyRepository.findById("retry-1")).thenReturn(Optional.of(
+                    new IdempotencyKeyEntity("retry-1", UUID.randomUUID(), LocalDateTime.now(), PaymentIdempotencyStore.requestHash(request))
+            ));
+
+            assertThrows(IdempotencyKeyConflictException.class,
+                    () -> paymentIdempotencyStore.claim("retry-1", UUID.randomUUID(), other));
+        }
+
+        @UnitTest
+        @DisplayName("should replay keys stored before request hashes were recorded")
+        void shouldReplayKeysWithoutRequestHash() {
+            UUID owner = UUID.randomUUID();
+            when(idempotencyKeyRepository.findById("retry-1")).thenReturn(Optional.of(
+                    new IdempotencyKeyEntity("retry-1", owner, LocalDateTime.now(), null)
+            ));
+
+            assertEquals(Optional.of(owner), paymentIdempotencyStore.find("retry-1", request));
+        }
+
+        @UnitTest
+        @DisplayName("should reject blank or oversized keys")
+        void shouldRejectInvalidKeys() {
+            assertThrows(InvalidPaymentException.class, () -> paymentIdempotencyStore.find(" ", request));
+            assertThrows(InvalidPaymentException.class, () -> paymentIdempotencyStore.find("k".repeat(256), request));
+            verifyNoInteractions(idempotencyKeyRepository, jdbcTemplate);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.payment;
+
+import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.payment.exception.PaymentProcessingException;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.model.OutboxMessageEntity;
+import com.banking.payment.repository.OutboxMessageRepository;
+import com.banking.payment.service.PaymentOutboxRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentOutboxRelayTest {
+
+    @Mock private OutboxMessageRepository outboxMessageRepository;
+    @Mock private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private PaymentOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new PaymentOutboxRelay(
+                outboxMessageRepository, kafkaTemplate, objectMapper, transactionManager, 2, 1000
+        );
+    }
+
+    private OutboxMessageEntity message(long id, UUID paymentId) throws Exception {
+        PaymentCreatedEvent event = PaymentCreatedEvent.builder()
+                .paymentId(paymentId)
+                .amount(new BigDecimal("10.00"))
+                .currency("BRL")
+                .build();
+
+        return OutboxMessageEntity.builder()
+                .id(id)
+                .topic("payment-created")
+                .messageKey(paymentId.toString())
+                .payloadType(PaymentCreatedEvent.class.getName())
+                .payload(objectMapper.writeValueAsString(event))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should publish the locked batch and delete it once Kafka acknowledges")
+        void shouldPublishAndDeleteBatch() throws Exception {
+            UUID paymentId = UUID.randomUUID();
+            List<OutboxMessageEntity> batch = List.of(message(1L, paymentId));
+
+            when(outboxMessageRepository.lockNextBatch(2)).thenReturn(batch);
+            when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            int relayed = relay.relayBatch();
+
+            assertEquals(1, relayed);
+            verify(kafkaTemplate).send(eq("payment-created"), eq(paymentId.toString()),
+                    argThat(event -> event instanceof PaymentCreatedEvent created && created.getPaymentId().equals(paymentId)));
+            verify(outboxMessageRepository).deleteAllInBatch(batch);
+        }
+
+        @UnitTest
+        @DisplayName("should keep messages in the outbox when Kafka does not acknowledge")
+        void shouldKeepMessagesWhenSendFails() throws Exception {
+            List<OutboxMessageEntity> batch = List.of(message(1L, UUID.randomUUID()));
+
+            when(outboxMessageRepository.lockNextBatch(2)).thenReturn(batch);
+            when(kafkaTemplate.send(anyString(), anyString(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+            assertThrows(PaymentProcessingException.class, () -> relay.relayBatch());
+
+            verify(outboxMessageRepository, never()).deleteAllInBatch(any());
+        }
+
+        @UnitTest
+        @DisplayName("should keep draining while batches come back full")
+        void shouldDrainUntilBatchIsNotFull() throws Exception {
+            when(outboxMessageRepository.lockNextBatch(2))
+                    .thenReturn(List.of(message(1L, UUID.randomUUID()), message(2L, UUID.randomUUID())))
+                    .thenReturn(List.of(message(3L, UUID.randomUUID())));
+            when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            relay.relay();
+
+            verify(outboxMessageRepository, times(2)).lockNextBatch(2);
+            verify(kafkaTemplate, times(3)).send(anyString(), anyString(), any());
+        }
+    }
+}
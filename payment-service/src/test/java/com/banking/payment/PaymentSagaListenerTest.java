@@ -0,0 +1,87 @@
+package com.banking.payment;
+
+import com.banking.core.concurrent.KeyOrderedExecutor;
+import com.banking.core.dedupe.EventDeduplicator;
+import com.banking.core.event.PaymentCreatedEvent;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.listener.PaymentSagaListener;
+import com.banking.payment.service.PaymentSaga;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentSagaListenerTest {
+
+    @Mock private PaymentSaga paymentSaga;
+    @Mock private EventDeduplicator eventDeduplicator;
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("test-listener", 1);
+    private final PaymentCreatedEvent event = PaymentCreatedEvent.builder()
+            .eventId(UUID.randomUUID())
+            .paymentId(UUID.randomUUID())
+            .build();
+    private PaymentSagaListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new PaymentSagaListener(paymentSaga, executor, eventDeduplicator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should record the event only after the saga stored the payment's final status")
+        void shouldRecordEventAfterSaga() {
+            when(paymentSaga.executePaymentSaga(event.getPaymentId())).thenReturn(true);
+
+            listener.handlePaymentCreated(event).join();
+
+            InOrder order = inOrder(paymentSaga, eventDeduplicator);
+            order.verify(paymentSaga).executePaymentSaga(event.getPaymentId());
+            order.verify(eventDeduplicator).claim(event.getEventId());
+        }
+
+        @UnitTest
+        @DisplayName("should leave the event unrecorded when the saga did not settle the payment, so a copy runs it again")
+        void shouldNotRecordUnsettledOrFailedSaga() {
+            when(paymentSaga.executePaymentSaga(event.getPaymentId()))
+                    .thenReturn(false)
+                    .thenThrow(new IllegalStateException("DB down"));
+
+            listener.handlePaymentCreated(event).join();
+            assertThrows(CompletionException.class, () -> listener.handlePaymentCreated(event).join());
+
+            verify(eventDeduplicator, never()).claim(any(UUID.class));
+        }
+
+        @UnitTest
+        @DisplayName("should skip an event the deduplicator already recorded")
+        void shouldSkipRecordedEvent() {
+            when(eventDeduplicator.alreadyProcessed(event.getEventId())).thenReturn(true);
+
+            listener.handlePaymentCreated(event).join();
+
+            verifyNoInteractions(paymentSaga);
+        }
+    }
+}
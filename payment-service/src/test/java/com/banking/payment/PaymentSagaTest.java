@@ -1,30 +1,33 @@
 package com.banking.payment;
 
 import com.banking.core.enums.PaymentStatus;
+import com.banking.core.event.PaymentProcessedEvent;
+import com.banking.payment.client.MerchantClient;
+import com.banking.payment.dto.SagaStepStatsDto;
 import com.banking.payment.exception.PaymentNotFoundException;
 import com.banking.payment.model.PaymentEntity;
+import com.banking.payment.model.SagaStep;
 import com.banking.payment.repository.PaymentRepository;
 import com.banking.payment.service.PaymentEventStore;
 import com.banking.payment.service.PaymentSaga;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -34,11 +37,21 @@ public class PaymentSagaTest {
     @Mock private PaymentRepository paymentRepository;
     @Mock private PaymentEventStore paymentEventStore;
     @Mock private KafkaTemplate<String, Object> kafkaTemplate;
-    @Mock private RestTemplate restTemplate;
+    @Mock private MerchantClient merchantClient;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private PaymentSaga paymentSaga;
 
+    @BeforeEach
+    void setUp() {
+        paymentSaga = new PaymentSaga(paymentRepository, paymentEventStore, kafkaTemplate, merchantClient, meterRegistry,
+                List.of(SagaStep.DEBIT, SagaStep.APPROVE, SagaStep.PUBLISH));
+    }
+
+    private static boolean processed(Object event, PaymentStatus status) {
+        return event instanceof PaymentProcessedEvent processed && status.name().equals(processed.getStatus());
+    }
+
     @Nested
     @DisplayName("Unit tests")
     class UnitTests {
@@ -62,17 +75,47 @@ public class PaymentSagaTest {
 
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
 
-            when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+            when(merchantClient.debit(payerId, amount)).thenReturn(CompletableFuture.completedFuture(true));
 
-            paymentSaga.executePaymentSaga(paymentId);
+            assertTrue(paymentSaga.executePaymentSaga(paymentId));
+
+            verify(merchantClient).debit(payerId, amount);
 
-            verify(restTemplate).postForEntity(contains("/debit"), any(), eq(Map.class));
+            verify(kafkaTemplate).send(eq("payment-processed"), eq(paymentId.toString()),
+                    argThat(event -> processed(event, PaymentStatus.APPROVED)));
 
-            verify(kafkaTemplate).send(eq("payment-completed"), eq(paymentId.toString()), any());
+            InOrder order = inOrder(paymentRepository, kafkaTemplate, paymentEventStore);
+            order.verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.APPROVED));
+            order.verify(kafkaTemplate).send(any(), any(), any());
+            order.verify(paymentEventStore).savePaymentApprovedEvent(payment);
+        }
+
+        @Test
+        @DisplayName("should not record APPROVED when a step after approval fails")
+        void shouldNotRecordApprovedWhenLaterStepFails() {
+            UUID paymentId = UUID.randomUUID();
+            PaymentEntity payment = PaymentEntity.builder()
+                    .id(paymentId)
+                    .payerId(UUID.randomUUID())
+                    .amount(BigDecimal.TEN)
+                    .status(PaymentStatus.PENDING)
+                    .build();
+
+            when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
+            when(merchantClient.debit(any(), any())).thenReturn(CompletableFuture.completedFuture(true));
+            when(merchantClient.credit(any(), any())).thenReturn(CompletableFuture.completedFuture(true));
+            when(kafkaTemplate.send(any(), any(), any())).thenAnswer(invocation -> {
+                if (processed(invocation.getArgument(2), PaymentStatus.APPROVED)) {
+                    throw new RuntimeException("Kafka error");
+                }
+                return null;
+            });
+
+            paymentSaga.executePaymentSaga(paymentId);
 
-            verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.APPROVED));
-            verify(paymentEventStore).savePaymentApprovedEvent(paymentId);
+            verify(paymentEventStore, never()).savePaymentApprovedEvent(any());
+            verify(paymentEventStore).savePaymentRejectedEvent(payment);
+            assertEquals(PaymentStatus.REJECTED, payment.getStatus());
         }
 
         @Test
@@ -87,15 +130,35 @@ public class PaymentSagaTest {
 
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
 
-            when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+            when(merchantClient.debit(any(), any())).thenReturn(CompletableFuture.completedFuture(false));
 
-            paymentSaga.executePaymentSaga(paymentId);
+            assertTrue(paymentSaga.executePaymentSaga(paymentId));
 
             verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.REJECTED));
-            verify(paymentEventStore).savePaymentRejectedEvent(paymentId);
+            verify(paymentEventStore).savePaymentRejectedEvent(payment);
 
-            verify(kafkaTemplate, never()).send(eq("payment-completed"), any(), any());
+            verify(kafkaTemplate).send(eq("payment-processed"), eq(paymentId.toString()),
+                    argThat(event -> processed(event, PaymentStatus.REJECTED)));
+            verify(kafkaTemplate, never()).send(any(), any(), argThat(event -> processed(event, PaymentStatus.APPROVED)));
+        }
+
+        @Test
+        @DisplayName("should report the payment unsettled when the REJECTED status could not be stored")
+        void shouldReportUnsettledWhenRejectionIsNotStored() {
+            UUID paymentId = UUID.randomUUID();
+            PaymentEntity payment = PaymentEntity.builder()
+                    .id(paymentId)
+                    .amount(BigDecimal.TEN)
+                    .status(PaymentStatus.PENDING)
+                    .build();
+
+            when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
+            when(merchantClient.debit(any(), any())).thenReturn(CompletableFuture.completedFuture(false));
+            when(paymentRepository.save(any())).thenThrow(new RuntimeException("DB down"));
+
+            assertFalse(paymentSaga.executePaymentSaga(paymentId));
+
+            verify(paymentEventStore, never()).savePaymentRejectedEvent(any());
         }
 
         @Test
@@ -106,7 +169,7 @@ public class PaymentSagaTest {
 
             assertThrows(RuntimeException.class, () -> paymentSaga.executePaymentSaga(paymentId));
 
-            verifyNoInteractions(restTemplate, kafkaTemplate);
+            verifyNoInteractions(merchantClient, kafkaTemplate);
         }
 
         @Test
@@ -130,8 +193,8 @@ public class PaymentSagaTest {
                     .build();
 
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
-            when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                    .thenThrow(new org.springframework.web.client.ResourceAccessException("Connection timed out"));
+            when(merchantClient.debit(any(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new java.net.http.HttpTimeoutException("Connection timed out")));
 
             try {
                 paymentSaga.executePaymentSaga(paymentId);
@@ -139,7 +202,91 @@ public class PaymentSagaTest {
             }
 
             verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.REJECTED));
-            verify(paymentEventStore).savePaymentRejectedEvent(paymentId);
+            verify(paymentEventStore).savePaymentRejectedEvent(payment);
+        }
+
+        @Test
+        @DisplayName("should not run the pipeline again for a payment that already left PENDING")
+        void shouldSkipPaymentThatIsNoLongerPending() {
+            UUID paymentId = UUID.randomUUID();
+            PaymentEntity payment = PaymentEntity.builder()
+                    .id(paymentId)
+                    .payerId(UUID.randomUUID())
+                    .amount(BigDecimal.TEN)
+                    .status(PaymentStatus.APPROVED)
+                    .build();
+
+            when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
+
+            paymentSaga.executePaymentSaga(paymentId);
+
+            verifyNoInteractions(merchantClient, kafkaTemplate, paymentEventStore);
+            verify(paymentRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should run only the configured steps")
+        void shouldRunOnlyConfiguredSteps() {
+            UUID paymentId = UUID.randomUUID();
+            PaymentEntity payment = PaymentEntity.builder()
+                    .id(paymentId)
+                    .payerId(UUID.randomUUID())
+                    .amount(BigDecimal.TEN)
+                    .status(PaymentStatus.PENDING)
+                    .build();
+            PaymentSaga withoutPublish = new PaymentSaga(paymentRepository, paymentEventStore, kafkaTemplate, merchantClient,
+                    meterRegistry, List.of(SagaStep.DEBIT, SagaStep.APPROVE));
+
+            when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
+            when(merchantClient.debit(any(), any())).thenReturn(CompletableFuture.completedFuture(true));
+
+            withoutPublish.executePaymentSaga(paymentId);
+
+            verifyNoInteractions(kafkaTemplate);
+            verify(paymentEventStore).savePaymentApprovedEvent(payment);
+            assertEquals(PaymentStatus.APPROVED, payment.getStatus());
+        }
+
+        @Test
+        @DisplayName("should count completed and failed runs per step")
+        void shouldCountRunsPerStep() {
+            UUID paymentId = UUID.randomUUID();
+            PaymentEntity payment = PaymentEntity.builder()
+                    .id(paymentId)
+                    .payerId(UUID.randomUUID())
+                    .amount(BigDecimal.TEN)
+                    .status(PaymentStatus.PENDING)
+                    .build();
+
+            when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
+            when(merchantClient.debit(any(), any())).thenReturn(CompletableFuture.completedFuture(false));
+
+            paymentSaga.executePaymentSaga(paymentId);
+
+            List<SagaStepStatsDto> stats = paymentSaga.stepStats();
+            assertEquals(List.of(SagaStep.DEBIT, SagaStep.APPROVE, SagaStep.PUBLISH),
+                    stats.stream().map(SagaStepStatsDto::step).toList());
+            assertEquals(0, stats.get(0).completed());
+            assertEquals(1, stats.get(0).failed());
+            assertEquals(0, stats.get(1).completed() + stats.get(1).failed());
+            assertEquals(1, meterRegistry.counter("payment.saga.payments", "outcome", "rejected").count());
+            assertEquals(1, meterRegistry.timer("payment.saga.step", "step", "debit", "outcome", "failure").count());
+        }
+
+        @Test
+        @DisplayName("should reject pipelines that never approve, never debit or run a step out of order")
+        void shouldRejectInvalidPipelines() {
+            assertThrows(IllegalArgumentException.class, () -> new PaymentSaga(
+                    paymentRepository, paymentEventStore, kafkaTemplate, merchantClient, meterRegistry, List.of(SagaStep.DEBIT)));
+            assertThrows(IllegalArgumentException.class, () -> new PaymentSaga(
+                    paymentRepository, paymentEventStore, kafkaTemplate, merchantClient, meterRegistry,
+                    List.of(SagaStep.APPROVE, SagaStep.PUBLISH)));
+            assertThrows(IllegalArgumentException.class, () -> new PaymentSaga(
+                    paymentRepository, paymentEventStore, kafkaTemplate, merchantClient, meterRegistry,
+                    List.of(SagaStep.APPROVE, SagaStep.DEBIT)));
+            assertThrows(IllegalArgumentException.class, () -> new PaymentSaga(
+                    paymentRepository, paymentEventStore, kafkaTemplate, merchantClient, meterRegistry,
+                    List.of(SagaStep.DEBIT, SagaStep.PUBLISH, SagaStep.APPROVE)));
         }
     }
 
@@ -163,21 +310,22 @@ public class PaymentSagaTest {
 
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
 
-            when(restTemplate.postForEntity(contains("/debit"), any(), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(Map.of("status", "success"), HttpStatus.OK));
+            when(merchantClient.debit(payerId, amount)).thenReturn(CompletableFuture.completedFuture(true));
 
-            doThrow(new RuntimeException("Database error after debit"))
-                    .when(paymentEventStore).savePaymentApprovedEvent(any());
+            when(paymentRepository.save(payment)).thenAnswer(invocation -> {
+                if (payment.getStatus() == PaymentStatus.APPROVED) {
+                    throw new RuntimeException("Database error after debit");
+                }
+                return payment;
+            });
 
             paymentSaga.executePaymentSaga(paymentId);
 
-            verify(restTemplate).postForEntity(
-                    contains("/merchants/" + payerId + "/credit"),
-                    any(),
-                    eq(Map.class)
-            );
+            verify(merchantClient).credit(payerId, amount);
 
-            verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.REJECTED));
+            verify(paymentRepository, times(2)).save(payment);
+            verify(paymentEventStore, never()).savePaymentApprovedEvent(any());
+            assertEquals(PaymentStatus.REJECTED, payment.getStatus());
         }
 
         @Test
@@ -193,14 +341,11 @@ public class PaymentSagaTest {
 
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
 
-            when(restTemplate.postForEntity(contains("/debit"), any(), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+            when(merchantClient.debit(any(), any())).thenReturn(CompletableFuture.completedFuture(false));
 
             paymentSaga.executePaymentSaga(paymentId);
 
-            verify(restTemplate, never()).postForEntity(
-                    contains("/credit"), any(), eq(Map.class)
-            );
+            verify(merchantClient, never()).credit(any(), any());
 
             verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.REJECTED));
         }
@@ -218,20 +363,21 @@ public class PaymentSagaTest {
 
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
 
-            when(restTemplate.postForEntity(contains("/debit"), any(), eq(Map.class)))
-                    .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+            when(merchantClient.debit(any(), any())).thenReturn(CompletableFuture.completedFuture(true));
 
             doThrow(new RuntimeException("Kafka error"))
                     .when(kafkaTemplate).send(any(), any(), any());
 
-            when(restTemplate.postForEntity(contains("/credit"), any(), eq(Map.class)))
-                    .thenThrow(new RuntimeException("Network down during refund"));
+            when(merchantClient.credit(any(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Network down during refund")));
 
             assertDoesNotThrow(() -> paymentSaga.executePaymentSaga(paymentId));
 
-            verify(restTemplate).postForEntity(contains("/credit"), any(), eq(Map.class));
+            verify(merchantClient).credit(any(), any());
 
-            verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.REJECTED));
+            verify(paymentRepository, times(2)).save(payment);
+            verify(paymentEventStore).savePaymentRejectedEvent(payment);
+            assertEquals(PaymentStatus.REJECTED, payment.getStatus());
         }
 
     }
@@ -1,14 +1,21 @@
 package com.banking.payment;
 
 import com.banking.core.enums.PaymentStatus;
+import com.banking.core.event.PaymentCreatedEvent;
 import com.banking.payment.dto.PaymentDetailsDto;
 import com.banking.payment.dto.PaymentDto;
+import com.banking.payment.dto.PaymentPageDto;
+import com.banking.payment.exception.IdempotencyKeyConflictException;
 import com.banking.payment.exception.InvalidPaymentException;
 import com.banking.payment.exception.PaymentNotFoundException;
 import com.banking.payment.interfaces.UnitTest;
 import com.banking.payment.model.PaymentEntity;
+import com.banking.payment.model.PaymentEventEntity;
 import com.banking.payment.repository.PaymentRepository;
+import com.banking.payment.service.MerchantDirectory;
 import com.banking.payment.service.PaymentEventStore;
+import com.banking.payment.service.PaymentIdempotencyStore;
+import com.banking.payment.service.PaymentOutbox;
 import com.banking.payment.service.PaymentService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,7 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -33,7 +40,9 @@ public class PaymentServiceTest {
 
     @Mock private PaymentRepository paymentRepository;
     @Mock private PaymentEventStore paymentEventStore;
-    @Mock private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock private PaymentOutbox paymentOutbox;
+    @Mock private PaymentIdempotencyStore paymentIdempotencyStore;
+    @Mock private MerchantDirectory merchantDirectory;
 
     @InjectMocks private PaymentService paymentService;
 
@@ -73,7 +82,7 @@ public class PaymentServiceTest {
                     eq(PaymentStatus.PENDING)
             );
 
-            verify(kafkaTemplate).send(eq("payment-created"), eq(paymentId.toString()), any());
+            verify(paymentOutbox).enqueue(eq("payment-created"), eq(paymentId.toString()), any(PaymentCreatedEvent.class));
         }
 
         @UnitTest
@@ -85,7 +94,7 @@ public class PaymentServiceTest {
             assertThrows(InvalidPaymentException.class, () -> paymentService.createPayment(zeroAmount));
             assertThrows(InvalidPaymentException.class, () -> paymentService.createPayment(negativeAmount));
 
-            verifyNoInteractions(paymentRepository, kafkaTemplate);
+            verifyNoInteractions(paymentRepository, paymentOutbox);
         }
 
         @UnitTest
@@ -107,6 +116,17 @@ public class PaymentServiceTest {
             assertThrows(InvalidPaymentException.class, () -> paymentService.createPayment(noPayee));
         }
 
+        @UnitTest
+        @DisplayName("should store nothing when the merchant directory rejects the payment")
+        void shouldThrowExceptionWhenMerchantDirectoryRejects() {
+            PaymentDto request = new PaymentDto(UUID.randomUUID(), "test", UUID.randomUUID(), BigDecimal.TEN, "BRL");
+            doThrow(new InvalidPaymentException("Insufficient balance")).when(merchantDirectory).validate(any());
+
+            assertThrows(InvalidPaymentException.class, () -> paymentService.createPayment(request, "key-1"));
+            verifyNoInteractions(paymentRepository, paymentEventStore, paymentOutbox);
+            verify(paymentIdempotencyStore, never()).claim(any(), any(), any());
+        }
+
         @UnitTest
         @DisplayName("should return payment details when found")
         void shouldReturnPaymentById() {
@@ -122,6 +142,24 @@ public class PaymentServiceTest {
             assertEquals(BigDecimal.TEN, result.amount());
         }
 
+        @UnitTest
+        @DisplayName("should not report a mid-saga APPROVED row as settled before its status is recorded")
+        void shouldReportSettledStatusFromHistory() {
+            UUID id = UUID.randomUUID();
+            PaymentEntity entity = new PaymentEntity(id, UUID.randomUUID(), "email", UUID.randomUUID(), BigDecimal.TEN, "BRL", PaymentStatus.APPROVED);
+
+            when(paymentRepository.findById(id)).thenReturn(Optional.of(entity));
+            when(paymentEventStore.getPaymentHistory(id)).thenReturn(List.of(statusEvent(id, PaymentStatus.PENDING)));
+
+            assertEquals(PaymentStatus.PENDING, paymentService.getSettledPayment(id).status());
+
+            when(paymentEventStore.getPaymentHistory(id)).thenReturn(List.of(
+                    statusEvent(id, PaymentStatus.PENDING), statusEvent(id, PaymentStatus.APPROVED)
+            ));
+
+            assertEquals(PaymentStatus.APPROVED, paymentService.getSettledPayment(id).status());
+        }
+
         @UnitTest
         @DisplayName("should throw exception when payment not found")
         void shouldThrowExceptionWhenPaymentNotFound() {
@@ -132,32 +170,35 @@ public class PaymentServiceTest {
         }
 
         @UnitTest
-        @DisplayName("should return all payments")
-        void shouldReturnAllPayments() {
-            when(paymentRepository.findAll()).thenReturn(List.of(
-                    new PaymentEntity(), new PaymentEntity()
+        @DisplayName("should return a bounded page without cursor when there are no more payments")
+        void shouldReturnLastPageWithoutCursor() {
+            when(paymentRepository.findBy(any(Specification.class), any())).thenReturn(List.of(
+                    PaymentEntity.builder().id(UUID.randomUUID()).build(),
+                    PaymentEntity.builder().id(UUID.randomUUID()).build()
             ));
 
-            List<PaymentDetailsDto> result = paymentService.getAllPayments();
+            PaymentPageDto result = paymentService.getPayments(null, null, null, null, 50);
 
-            assertEquals(2, result.size());
+            assertEquals(2, result.items().size());
+            assertNull(result.nextCursor());
+            verify(paymentRepository, never()).findAll();
         }
 
         @UnitTest
-        @DisplayName("should filter payments by payer id")
-        void shouldFilterPaymentsByPayer() {
-            UUID payer1 = UUID.randomUUID();
-            UUID payer2 = UUID.randomUUID();
-
-            PaymentEntity p1 = PaymentEntity.builder().payerId(payer1).build();
-            PaymentEntity p2 = PaymentEntity.builder().payerId(payer2).build();
+        @DisplayName("should return next cursor pointing at the last item when more payments exist")
+        void shouldReturnNextCursorWhenPageIsFull() {
+            UUID payer = UUID.randomUUID();
+            PaymentEntity p1 = PaymentEntity.builder().id(UUID.randomUUID()).payerId(payer).build();
+            PaymentEntity p2 = PaymentEntity.builder().id(UUID.randomUUID()).payerId(payer).build();
+            PaymentEntity p3 = PaymentEntity.builder().id(UUID.randomUUID()).payerId(payer).build();
 
-            when(paymentRepository.findAll()).thenReturn(List.of(p1, p2));
+            when(paymentRepository.findBy(any(Specification.class), any())).thenReturn(List.of(p1, p2, p3));
 
-            List<PaymentDetailsDto> result = paymentService.getPaymentsByPayer(payer1);
+            PaymentPageDto result = paymentService.getPayments(payer, null, null, null, 2);
 
-            assertEquals(1, result.size());
-            assertEquals(payer1, result.getFirst().payerId());
+            assertEquals(2, result.items().size());
+            assertEquals(payer, result.items().getFirst().payerId());
+            assertEquals(p2.getId(), result.nextCursor());
         }
 
         @UnitTest
@@ -172,7 +213,7 @@ public class PaymentServiceTest {
 
             assertEquals(PaymentStatus.APPROVED, entity.getStatus());
             verify(paymentRepository).save(entity);
-            verify(paymentEventStore).savePaymentApprovedEvent(id);
+            verify(paymentEventStore).savePaymentApprovedEvent(entity);
         }
 
         @UnitTest
@@ -212,7 +253,7 @@ public class PaymentServiceTest {
 
             assertEquals(PaymentStatus.REJECTED, entity.getStatus());
             verify(paymentRepository).save(entity);
-            verify(paymentEventStore).savePaymentRejectedEvent(id);
+            verify(paymentEventStore).savePaymentRejectedEvent(entity);
         }
 
         @UnitTest
@@ -250,22 +291,78 @@ public class PaymentServiceTest {
         }
 
         @UnitTest
-        @DisplayName("should propagate exception when Kafka fails to send event")
-        void shouldThrowExceptionWhenKafkaFails() {
+        @DisplayName("should propagate exception when the outbox write fails")
+        void shouldThrowExceptionWhenOutboxFails() {
             PaymentDto request = new PaymentDto(
                     UUID.randomUUID(), "test", UUID.randomUUID(), BigDecimal.TEN, "BRL"
             );
 
             when(paymentRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            when(kafkaTemplate.send(anyString(), anyString(), any()))
-                    .thenThrow(new RuntimeException("Kafka is down"));
+            doThrow(new RuntimeException("Outbox insert failed"))
+                    .when(paymentOutbox).enqueue(anyString(), anyString(), any());
 
             assertThrows(RuntimeException.class, () -> paymentService.createPayment(request));
 
             verify(paymentRepository).save(any());
         }
 
+        @UnitTest
+        @DisplayName("should return the original payment when the Idempotency-Key was already used")
+        void shouldReplayPaymentForKnownIdempotencyKey() {
+            UUID original = UUID.randomUUID();
+            PaymentDto request = new PaymentDto(UUID.randomUUID(), "test", UUID.randomUUID(), BigDecimal.TEN, "BRL");
+
+            when(paymentIdempotencyStore.find("retry-1", request)).thenReturn(Optional.of(original));
+
+            assertEquals(original, paymentService.createPayment(request, "retry-1"));
+
+            verify(paymentIdempotencyStore, never()).claim(any(), any(), any());
+            verifyNoInteractions(paymentRepository, paymentEventStore, paymentOutbox);
+        }
+
+        @UnitTest
+        @DisplayName("should create nothing when the Idempotency-Key was used with a different request")
+        void shouldRejectIdempotencyKeyReusedWithDifferentRequest() {
+            PaymentDto request = new PaymentDto(UUID.randomUUID(), "test", UUID.randomUUID(), BigDecimal.TEN, "BRL");
+
+            when(paymentIdempotencyStore.find("retry-1", request))
+                    .thenThrow(new IdempotencyKeyConflictException("Idempotency-Key retry-1 was already used with a different request"));
+
+            assertThrows(IdempotencyKeyConflictException.class, () -> paymentService.createPayment(request, "retry-1"));
+
+            verifyNoInteractions(paymentRepository, paymentEventStore, paymentOutbox);
+        }
+
+        @UnitTest
+        @DisplayName("should claim a new Idempotency-Key with the created payment id")
+        void shouldClaimNewIdempotencyKey() {
+            PaymentDto request = new PaymentDto(UUID.randomUUID(), "test", UUID.randomUUID(), BigDecimal.TEN, "BRL");
+
+            when(paymentIdempotencyStore.find("retry-1", request)).thenReturn(Optional.empty());
+            when(paymentIdempotencyStore.claim(eq("retry-1"), any(), eq(request))).thenAnswer(i -> i.getArgument(1));
+
+            UUID paymentId = paymentService.createPayment(request, "retry-1");
+
+            verify(paymentIdempotencyStore).claim("retry-1", paymentId, request);
+            verify(paymentRepository).save(argThat(p -> p.getId().equals(paymentId)));
+            verify(paymentOutbox).enqueue(eq("payment-created"), eq(paymentId.toString()), any(PaymentCreatedEvent.class));
+        }
+
+        @UnitTest
+        @DisplayName("should return the concurrent winner's payment when the Idempotency-Key claim is lost")
+        void shouldReturnWinnerWhenClaimIsLost() {
+            UUID winner = UUID.randomUUID();
+            PaymentDto request = new PaymentDto(UUID.randomUUID(), "test", UUID.randomUUID(), BigDecimal.TEN, "BRL");
+
+            when(paymentIdempotencyStore.find("retry-1", request)).thenReturn(Optional.empty());
+            when(paymentIdempotencyStore.claim(eq("retry-1"), any(), eq(request))).thenReturn(winner);
+
+            assertEquals(winner, paymentService.createPayment(request, "retry-1"));
+
+            verifyNoInteractions(paymentRepository, paymentEventStore, paymentOutbox);
+        }
+
         @UnitTest
         @DisplayName("should throw exception when amount has more than 2 decimal places")
         void shouldThrowExceptionForInvalidScale() {
@@ -278,6 +375,10 @@ public class PaymentServiceTest {
 
     }
 
-
-
+    private static PaymentEventEntity statusEvent(UUID paymentId, PaymentStatus status) {
+        return PaymentEventEntity.builder()
+                .paymentId(paymentId)
+                .status(status)
+                .build();
+    }
 }
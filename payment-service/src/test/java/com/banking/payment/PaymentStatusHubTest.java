@@ -0,0 +1,81 @@
+package com.banking.payment;
+
+import com.banking.core.enums.PaymentStatus;
+import com.banking.payment.dto.PaymentDetailsDto;
+import com.banking.payment.dto.PaymentStatusChanged;
+import com.banking.payment.exception.PaymentNotFoundException;
+import com.banking.payment.interfaces.UnitTest;
+import com.banking.payment.service.PaymentStatusHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaymentStatusHubTest {
+
+    private final PaymentStatusHub hub = new PaymentStatusHub(60_000);
+    private final UUID paymentId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    private PaymentDetailsDto payment(PaymentStatus status) {
+        return new PaymentDetailsDto(paymentId, UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"), "BRL", status);
+    }
+
+    @Nested
+    @DisplayName("Unit tests")
+    class UnitTests {
+
+        @UnitTest
+        @DisplayName("should keep pending subscribers open and release them once a terminal status is pushed")
+        void shouldReleaseSubscribersOnTerminalStatus() {
+            hub.subscribe(paymentId, () -> payment(PaymentStatus.PENDING));
+            hub.subscribe(paymentId, () -> payment(PaymentStatus.PENDING));
+
+            assertEquals(2, hub.subscriberCount());
+
+            hub.onStatusChanged(new PaymentStatusChanged(payment(PaymentStatus.APPROVED)));
+
+            await().atMost(Duration.ofSeconds(2)).until(() -> hub.subscriberCount() == 0);
+        }
+
+        @UnitTest
+        @DisplayName("should close the stream right after the snapshot when the payment is already finished")
+        void shouldCloseImmediatelyForFinishedPayment() {
+            assertNotNull(hub.subscribe(paymentId, () -> payment(PaymentStatus.REJECTED)));
+
+            assertEquals(0, hub.subscriberCount());
+        }
+
+        @UnitTest
+        @DisplayName("should not keep a subscription when the payment does not exist")
+        void shouldUnregisterWhenPaymentIsMissing() {
+            assertThrows(PaymentNotFoundException.class, () -> hub.subscribe(paymentId, () -> {
+                throw new PaymentNotFoundException("Payment not found: " + paymentId);
+            }));
+
+            assertEquals(0, hub.subscriberCount());
+        }
+
+        @UnitTest
+        @DisplayName("should ignore status changes for payments nobody is watching")
+        void shouldIgnoreUnwatchedPayments() {
+            hub.subscribe(paymentId, () -> payment(PaymentStatus.PENDING));
+
+            hub.onStatusChanged(new PaymentStatusChanged(new PaymentDetailsDto(
+                    UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), BigDecimal.ONE, "BRL", PaymentStatus.APPROVED
+            )));
+
+            assertEquals(1, hub.subscriberCount());
+        }
+    }
+}